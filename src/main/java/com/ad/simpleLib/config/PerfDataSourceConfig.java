@@ -0,0 +1,45 @@
+package com.ad.simpleLib.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sizes every Hikari pool as {@code cores * connections-per-core + 1} in the {@code perf} profile,
+ * following the HikariCP pool sizing guideline, and keeps the pool fixed-size. A pool whose own
+ * {@code maximum-pool-size} is set is left alone.
+ */
+@Configuration
+@Profile("perf")
+public class PerfDataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor corePoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty(maximumPoolSizeProperty(beanName))) {
+                    int connectionsPerCore = environment.getProperty("simplelib.datasource.pool.connections-per-core",
+                            Integer.class, 2);
+                    int poolSize = Runtime.getRuntime().availableProcessors() * connectionsPerCore + 1;
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // The replica pool binds simplelib.datasource.replica.*, see ReplicaRoutingConfig
+    private static String maximumPoolSizeProperty(String beanName) {
+        return "replicaDataSource".equals(beanName)
+                ? "simplelib.datasource.replica.maximum-pool-size"
+                : "spring.datasource.hikari.maximum-pool-size";
+    }
+}
@@ -1,10 +1,16 @@
 package com.ad.simpleLib.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +19,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ad.simpleLib.domain.dto.AuthorDto;
+import com.ad.simpleLib.domain.dto.BatchDeleteResultDto;
+import com.ad.simpleLib.domain.dto.BatchItemResultDto;
+import com.ad.simpleLib.domain.dto.CursorPageDto;
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.mappers.Mapper;
 import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.DeleteResult;
+import com.ad.simpleLib.services.WriteResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @RestController
 public class AuthorController {
@@ -27,9 +49,16 @@ public class AuthorController {
 
     private Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    private ObjectMapper objectMapper;
+
+    private SingleFlight<Long, Optional<VersionedAuthor>> authorLoads;
+
+    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.authorService = authorService;
         this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
+        this.authorLoads = new SingleFlight<>("authors", meterRegistry);
     }
 
     @PostMapping(path = "/authors")
@@ -39,41 +68,123 @@ public class AuthorController {
         return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.CREATED);
     }
     
+    @PostMapping(path = "/authors/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BatchItemResultDto<Long>> createUpdateAuthors(@RequestBody List<AuthorDto> authorDtos) {
+    	return saveAll(authorDtos);
+    }
+    
+    @PostMapping(path = "/authors/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public List<BatchItemResultDto<Long>> createUpdateAuthorsNdjson(InputStream body) throws IOException {
+    	try (MappingIterator<AuthorDto> authorDtos = objectMapper.readerFor(AuthorDto.class).readValues(body)) {
+    		return saveAll(authorDtos.readAll());
+    	}
+    }
+    
+    @PostMapping(path = "/authors/batch-delete")
+    public BatchDeleteResultDto deleteAuthors(@RequestBody List<Long> ids) {
+    	DeleteResult result = authorService.deleteAll(ids);
+    	return new BatchDeleteResultDto(result.getDeleted(), result.getDetached());
+    }
+    
     @GetMapping(path = "/authors")
     public List<AuthorDto> listAuthors() {
     	List<AuthorEntity> authors = authorService.findAll();
     	return authors.stream().map(authorMapper::mapTo).collect(Collectors.toList());
     }
     
+    @GetMapping(path = "/authors", params = "fields")
+    public List<Map<String, Object>> listAuthorFields(@RequestParam("fields") List<String> fields) {
+    	return authorService.findFields(fields);
+    }
+    
+    @GetMapping(path = "/authors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAuthors() {
+    	ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    	StreamingResponseBody body = outputStream -> {
+    		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+    			// Each line ends with its own newline, so Jackson must not put a space before the next one
+    			generator.setRootValueSeparator(null);
+    			authorService.streamAll(authorEntity -> {
+    				try {
+    					writer.writeValue(generator, authorMapper.mapTo(authorEntity));
+    					generator.writeRaw('\n');
+    				} catch (IOException e) {
+    					throw new UncheckedIOException(e);
+    				}
+    			});
+    		}
+    	};
+    	return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    @GetMapping(path = "/authors/by-age")
+    public CursorPageDto<AuthorDto> listAuthorsByAge(@RequestParam(name = "min", required = false) Integer minAge,
+    		@RequestParam(name = "max", required = false) Integer maxAge,
+    		@RequestParam(name = "cursor", required = false) String cursor,
+    		@RequestParam(name = "size", defaultValue = "20") int size) {
+    	int pageSize = Cursors.pageSize(size);
+    	Integer afterAge = null;
+    	Long afterId = null;
+    	String position = Cursors.decode(cursor);
+    	if (position != null) {
+    		String[] parts = position.split(":", 2);
+    		try {
+    			afterAge = Integer.valueOf(parts[0]);
+    			afterId = Long.valueOf(parts[1]);
+    		} catch (RuntimeException e) {
+    			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    		}
+    	}
+    	List<AuthorEntity> authors = authorService.findByAgeRange(minAge == null ? 0 : minAge,
+    			maxAge == null ? Integer.MAX_VALUE : maxAge, afterAge, afterId, pageSize + 1);
+    	String next = null;
+    	if (authors.size() > pageSize) {
+    		authors = authors.subList(0, pageSize);
+    		AuthorEntity last = authors.get(pageSize - 1);
+    		next = Cursors.encode(last.getAge() + ":" + last.getId());
+    	}
+    	return new CursorPageDto<>(authors.stream().map(authorMapper::mapTo).toList(), next);
+    }
+    
     @GetMapping(path = "authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id) {
-    	Optional<AuthorEntity> foundAuthor = authorService.findOne(id);
-    	return foundAuthor.map(authorEntity -> {
-    		AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-    		return new ResponseEntity<>(authorDto, HttpStatus.OK);
-    	}).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id,
+    		@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    	if (ifNoneMatch != null) {
+    		Optional<String> currentETag = authorService.findVersion(id).map(ETags::of);
+    		if (currentETag.filter(eTag -> ETags.matches(ifNoneMatch, eTag)).isPresent()) {
+    			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+    		}
+    	}
+    	Optional<VersionedAuthor> foundAuthor = authorLoads.execute(id, () -> authorService.findOne(id)
+    			.map(authorEntity -> new VersionedAuthor(authorMapper.mapTo(authorEntity), ETags.of(authorEntity.getVersion()))));
+    	return foundAuthor.map(versionedAuthor -> ResponseEntity.ok().eTag(versionedAuthor.eTag()).body(versionedAuthor.author()))
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    @GetMapping(path = "authors/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getAuthorFields(@PathVariable("id") Long id,
+    		@RequestParam("fields") List<String> fields) {
+    	return authorService.findOneFields(id, fields).map(ResponseEntity::ok)
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     @PutMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-    	if(!authorService.isExists(id)) {
-    		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-    	}
-    	
+    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+    		@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     	authorDto.setId(id);
     	AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-    	AuthorEntity savedAuthorEntity = authorService.save(authorEntity);
-    	return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.OK);
+    	Optional<AuthorEntity> savedAuthor = authorService.fullUpdate(id, authorEntity, ETags.precondition(ifMatch));
+    	return savedAuthor.map(savedAuthorEntity -> ResponseEntity.ok().eTag(ETags.of(savedAuthorEntity.getVersion())).body(authorMapper.mapTo(savedAuthorEntity)))
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     @PatchMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> partialUpdate(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-    	if(!authorService.isExists(id)) {
-    		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-    	}
+    public ResponseEntity<AuthorDto> partialUpdate(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+    		@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     	AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-    	AuthorEntity updatedAuthor = authorService.partialUpdate(id, authorEntity);
-    	return new ResponseEntity<>(authorMapper.mapTo(updatedAuthor), HttpStatus.OK);
+    	Optional<AuthorEntity> updatedAuthor = authorService.partialUpdate(id, authorEntity, ETags.precondition(ifMatch));
+    	return updatedAuthor.map(updatedAuthorEntity -> ResponseEntity.ok().eTag(ETags.of(updatedAuthorEntity.getVersion())).body(authorMapper.mapTo(updatedAuthorEntity)))
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     @DeleteMapping(path = "/authors/{id}")
@@ -81,4 +192,15 @@ public class AuthorController {
     	authorService.delete(id);
     	return new ResponseEntity<AuthorDto>(HttpStatus.NO_CONTENT);
     }
+    
+    private List<BatchItemResultDto<Long>> saveAll(List<AuthorDto> authorDtos) {
+    	List<WriteResult<AuthorEntity>> results = authorService.saveAll(authorDtos.stream().map(authorMapper::mapFrom).toList());
+    	return results.stream()
+    			.map(result -> new BatchItemResultDto<>(result.getEntity().getId(),
+    					result.isCreated() ? BatchItemResultDto.Status.CREATED : BatchItemResultDto.Status.UPDATED))
+    			.toList();
+    }
+    
+    private record VersionedAuthor(AuthorDto author, String eTag) {
+    }
 }
@@ -1,78 +1,260 @@
 package com.ad.simpleLib.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.ad.simpleLib.domain.dto.BatchItemResultDto;
+import com.ad.simpleLib.domain.dto.BookBatchDeleteResultDto;
 import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.dto.BookLookupResultDto;
+import com.ad.simpleLib.domain.dto.BookSummaryDto;
+import com.ad.simpleLib.domain.dto.CursorPageDto;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.domain.entities.BookEntity;
 import com.ad.simpleLib.mappers.Mapper;
+import com.ad.simpleLib.repositories.BookVersionView;
+import com.ad.simpleLib.services.BookIngestService;
 import com.ad.simpleLib.services.BookService;
+import com.ad.simpleLib.services.WriteResult;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @RestController
 public class BookController {
 
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final int MAX_LOOKUP_SIZE = 1000;
+
     private BookService bookService;
     private Mapper<BookEntity, BookDto> bookMapper;
+    private ObjectMapper objectMapper;
+    private Optional<BookIngestService> bookIngestService;
+    private SingleFlight<String, Optional<VersionedBook>> bookLoads;
 
-    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService) {
+    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService, ObjectMapper objectMapper,
+    		Optional<BookIngestService> bookIngestService, MeterRegistry meterRegistry) {
         this.bookMapper = bookMapper;
         this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.bookIngestService = bookIngestService;
+        this.bookLoads = new SingleFlight<>("books", meterRegistry);
     }
 
     @PutMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> createUpdateBook(@PathVariable String isbn, @RequestBody BookDto bookDto) {
+    public ResponseEntity<BookDto> createUpdateBook(@PathVariable String isbn, @RequestBody BookDto bookDto,
+    		@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    		@RequestHeader(name = PREFER, required = false) String prefer) {
     	BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-    	boolean bookExists = bookService.isExists(isbn);
-    	BookEntity savedBookEntity = bookService.createUpdateBook(isbn, bookEntity);
-        BookDto savedUpdatedBookDto = bookMapper.mapTo(savedBookEntity);
-    	if(bookExists) {
-    		return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.OK);
-    	} else {
-    		return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.CREATED);
+    	// Conditional writes need the current row, so only unconditional ones may be queued
+    	if (ifMatch == null && prefer != null && prefer.contains(RESPOND_ASYNC) && bookIngestService.isPresent()) {
+    		if (!bookIngestService.get().offer(isbn, bookEntity)) {
+    			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    		}
+    		return ResponseEntity.status(HttpStatus.ACCEPTED).header("Preference-Applied", RESPOND_ASYNC).build();
+    	}
+    	flushQueuedWrites(List.of(isbn));
+    	WriteResult<BookEntity> result = bookService.upsert(isbn, bookEntity, ETags.precondition(ifMatch));
+        BookDto savedUpdatedBookDto = bookMapper.mapTo(result.getEntity());
+        return ResponseEntity.status(result.isCreated() ? HttpStatus.CREATED : HttpStatus.OK)
+        		.eTag(eTag(result.getEntity()))
+        		.body(savedUpdatedBookDto);
+    }
+    
+    @PostMapping(path = "/books/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BatchItemResultDto<String>> createUpdateBooks(@RequestBody List<BookDto> bookDtos) {
+    	return createUpdateAll(bookDtos);
+    }
+    
+    @PostMapping(path = "/books/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public List<BatchItemResultDto<String>> createUpdateBooksNdjson(InputStream body) throws IOException {
+    	try (MappingIterator<BookDto> bookDtos = objectMapper.readerFor(BookDto.class).readValues(body)) {
+    		return createUpdateAll(bookDtos.readAll());
     	}
     }
     
+    @PostMapping(path = "/books/batch-delete")
+    public BookBatchDeleteResultDto deleteBooks(@RequestBody List<String> isbns) {
+    	flushQueuedWrites(isbns);
+    	return new BookBatchDeleteResultDto(bookService.deleteAll(isbns));
+    }
+    
     @GetMapping(path = "/books")
     public Page<BookDto> listBooks(Pageable pageable) {
         Page<BookEntity> books = bookService.findAll(pageable);
         return books.map(bookMapper::mapTo);
     }
     
+    @GetMapping(path = "/books", params = { "count=false", "!fields" })
+    public Slice<BookDto> listBooksWithoutCount(Pageable pageable) {
+        Slice<BookEntity> books = bookService.findSlice(pageable);
+        return books.map(bookMapper::mapTo);
+    }
+    
+    @GetMapping(path = "/books", params = { "fields", "count!=false" })
+    public Page<Map<String, Object>> listBookFields(@RequestParam("fields") List<String> fields, Pageable pageable) {
+        return bookService.findFields(fields, pageable);
+    }
+    
+    @GetMapping(path = "/books", params = { "fields", "count=false" })
+    public Slice<Map<String, Object>> listBookFieldsWithoutCount(@RequestParam("fields") List<String> fields, Pageable pageable) {
+        return bookService.findFieldsSlice(fields, pageable);
+    }
+    
+    @GetMapping(path = "/books/summaries")
+    public Page<BookSummaryDto> listBookSummaries(Pageable pageable) {
+        return bookService.findSummaries(pageable);
+    }
+    
+    @GetMapping(path = "/books/search")
+    public Page<BookDto> searchBooks(@RequestParam("q") String query, Pageable pageable) {
+        Page<BookEntity> books = bookService.search(query, pageable);
+        return books.map(bookMapper::mapTo);
+    }
+    
+    @GetMapping(path = "/books/keyset")
+    public CursorPageDto<BookDto> listBooksAfter(@RequestParam(name = "cursor", required = false) String cursor,
+    		@RequestParam(name = "size", defaultValue = "20") int size) {
+    	int pageSize = Cursors.pageSize(size);
+    	List<BookEntity> books = bookService.findAllAfter(Cursors.decode(cursor), pageSize + 1);
+    	String next = null;
+    	if (books.size() > pageSize) {
+    		books = books.subList(0, pageSize);
+    		next = Cursors.encode(books.get(pageSize - 1).getIsbn());
+    	}
+    	return new CursorPageDto<>(books.stream().map(bookMapper::mapTo).toList(), next);
+    }
+    
+    @GetMapping(path = "/authors/{id}/books")
+    public CursorPageDto<BookDto> listBooksByAuthor(@PathVariable("id") Long authorId,
+    		@RequestParam(name = "cursor", required = false) String cursor,
+    		@RequestParam(name = "size", defaultValue = "20") int size) {
+    	int pageSize = Cursors.pageSize(size);
+    	List<BookEntity> books = bookService.findByAuthorAfter(authorId, Cursors.decode(cursor), pageSize + 1);
+    	String next = null;
+    	if (books.size() > pageSize) {
+    		books = books.subList(0, pageSize);
+    		next = Cursors.encode(books.get(pageSize - 1).getIsbn());
+    	}
+    	return new CursorPageDto<>(books.stream().map(bookMapper::mapTo).toList(), next);
+    }
+    
+    @GetMapping(path = "/authors/books")
+    public Map<Long, List<BookDto>> listBooksByAuthors(@RequestParam("ids") List<Long> authorIds) {
+    	Map<Long, List<BookDto>> booksByAuthor = new LinkedHashMap<>();
+    	bookService.findByAuthors(authorIds)
+    			.forEach((authorId, books) -> booksByAuthor.put(authorId, books.stream().map(bookMapper::mapTo).toList()));
+    	return booksByAuthor;
+    }
+    
+    @PostMapping(path = "/books/lookup")
+    public List<BookLookupResultDto> lookupBooks(@RequestBody List<String> isbns) {
+    	if (isbns.size() > MAX_LOOKUP_SIZE) {
+    		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_LOOKUP_SIZE + " isbns per lookup");
+    	}
+    	List<Optional<BookEntity>> books = bookService.findAllByIsbn(isbns);
+    	List<BookLookupResultDto> results = new ArrayList<>(isbns.size());
+    	for (int i = 0; i < isbns.size(); i++) {
+    		BookDto bookDto = books.get(i).map(bookMapper::mapTo).orElse(null);
+    		results.add(new BookLookupResultDto(isbns.get(i), bookDto != null, bookDto));
+    	}
+    	return results;
+    }
+    
     @GetMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
-    	Optional<BookEntity> foundBook = bookService.findOne(isbn);
-    	return foundBook.map(bookEntity -> {
-    		BookDto bookDto = bookMapper.mapTo(bookEntity);
-    		return new ResponseEntity<>(bookDto, HttpStatus.OK);
-    	}).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn,
+    		@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    	if (ifNoneMatch != null) {
+    		Optional<String> currentETag = bookService.findVersion(isbn).map(BookController::eTag);
+    		if (currentETag.filter(eTag -> ETags.matches(ifNoneMatch, eTag)).isPresent()) {
+    			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+    		}
+    	}
+    	// Concurrent requests for the same isbn share one load and one mapped body, tagged from the same entity
+    	Optional<VersionedBook> foundBook = bookLoads.execute(isbn, () -> bookService.findOne(isbn)
+    			.map(bookEntity -> new VersionedBook(bookMapper.mapTo(bookEntity), eTag(bookEntity))));
+    	return foundBook.map(versionedBook -> ResponseEntity.ok().eTag(versionedBook.eTag()).body(versionedBook.book()))
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    @GetMapping(path = "/books/{isbn}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getBookFields(@PathVariable("isbn") String isbn,
+    		@RequestParam("fields") List<String> fields) {
+    	return bookService.findOneFields(isbn, fields).map(ResponseEntity::ok)
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     @PatchMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
-    	
-    	boolean bookExists = bookService.isExists(isbn);
-    	if(!bookExists) {
-    		return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-    	}
+    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+    		@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     	BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-    	BookEntity updatedBookEntity = bookService.partialUpdate(isbn, bookEntity);
-    	return new ResponseEntity<>(bookMapper.mapTo(updatedBookEntity), HttpStatus.OK);
+    	flushQueuedWrites(List.of(isbn));
+    	Optional<BookEntity> updatedBook = bookService.partialUpdate(isbn, bookEntity, ETags.precondition(ifMatch));
+    	return updatedBook.map(updatedBookEntity -> ResponseEntity.ok().eTag(eTag(updatedBookEntity)).body(bookMapper.mapTo(updatedBookEntity)))
+    			.orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
     @DeleteMapping(path = "/books/{isbn}")
     public ResponseEntity<BookDto> deleteBook(@PathVariable("isbn") String isbn) {
+    	flushQueuedWrites(List.of(isbn));
     	bookService.delete(isbn);
     	return new ResponseEntity<BookDto>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+    
+    private List<BatchItemResultDto<String>> createUpdateAll(List<BookDto> bookDtos) {
+    	if (bookDtos.stream().anyMatch(bookDto -> bookDto.getIsbn() == null)) {
+    		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every book in a batch needs an isbn");
+    	}
+    	flushQueuedWrites(bookDtos.stream().map(BookDto::getIsbn).toList());
+    	List<WriteResult<BookEntity>> results = bookService.createUpdateBooks(bookDtos.stream().map(bookMapper::mapFrom).toList());
+    	return results.stream()
+    			.map(result -> new BatchItemResultDto<>(result.getEntity().getIsbn(),
+    					result.isCreated() ? BatchItemResultDto.Status.CREATED : BatchItemResultDto.Status.UPDATED))
+    			.toList();
+    }
+    
+    // Queued async writes for these isbns are older than the synchronous write about to happen
+    private void flushQueuedWrites(Collection<String> isbns) {
+    	bookIngestService.ifPresent(ingestService -> ingestService.flushPending(isbns));
+    }
+    
+    private static String eTag(BookEntity bookEntity) {
+    	AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+    	return authorEntity == null ? ETags.of(bookEntity.getVersion()) : ETags.of(bookEntity.getVersion(), authorEntity.getVersion());
+    }
+    
+    private static String eTag(BookVersionView version) {
+    	Long authorVersion = version.getAuthorVersion();
+    	return authorVersion == null ? ETags.of(version.getVersion()) : ETags.of(version.getVersion(), authorVersion);
+    }
+    
+    private record VersionedBook(BookDto book, String eTag) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.ad.simpleLib.controllers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ad.simpleLib.domain.dto.CacheRegionStatisticsDto;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Hibernate only collects the numbers when statistics are on
+@RestController
+@ConditionalOnProperty(name = "simplelib.hibernate.statistics", havingValue = "true")
+public class CacheStatisticsController {
+
+    private Statistics statistics;
+
+    public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping(path = "/cache/statistics")
+    public List<CacheRegionStatisticsDto> getCacheStatistics() {
+    	return Stream.of(statistics.getSecondLevelCacheRegionNames())
+    			.map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+    			.filter(Objects::nonNull)
+    			.toList();
+    }
+
+    private static CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics regionStatistics) {
+    	if (regionStatistics == null) {
+    		return null;
+    	}
+    	return CacheRegionStatisticsDto.builder()
+    			.region(region)
+    			.hitCount(regionStatistics.getHitCount())
+    			.missCount(regionStatistics.getMissCount())
+    			.putCount(regionStatistics.getPutCount())
+    			.elementCountInMemory(regionStatistics.getElementCountInMemory())
+    			.build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ad.simpleLib.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe continuation tokens.
+ */
+final class Cursors {
+
+	static final int MAX_PAGE_SIZE = 1000;
+
+	private Cursors() {
+	}
+
+	static String encode(String position) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static String decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+		}
+	}
+
+	static int pageSize(int requested) {
+		return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+	}
+}
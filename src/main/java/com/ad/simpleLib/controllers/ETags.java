@@ -0,0 +1,59 @@
+package com.ad.simpleLib.controllers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.ad.simpleLib.services.VersionPrecondition;
+
+/**
+ * Builds and compares entity-tags derived from the version columns of the resources.
+ */
+final class ETags {
+
+	private ETags() {
+	}
+
+	static String of(long... versions) {
+		return LongStream.of(versions).mapToObj(Long::toString).collect(Collectors.joining(".", "\"", "\""));
+	}
+
+	static boolean matches(String ifNoneMatch, String eTag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		return Arrays.stream(ifNoneMatch.split(","))
+				.map(String::trim)
+				.map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+				.anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+	}
+
+	/**
+	 * Turns an If-Match header into the versions a write expects: null without the header,
+	 * {@link VersionPrecondition#ANY} for {@code *}, otherwise every strong tag that parses.
+	 * A header with no usable tag yields a precondition nothing matches.
+	 */
+	static VersionPrecondition precondition(String ifMatch) {
+		if (ifMatch == null) {
+			return null;
+		}
+		List<long[]> candidates = new ArrayList<>();
+		for (String candidate : ifMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.equals("*")) {
+				return VersionPrecondition.ANY;
+			}
+			if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+				continue;
+			}
+			try {
+				candidates.add(Arrays.stream(tag.substring(1, tag.length() - 1).split("\\.", -1)).mapToLong(Long::parseLong).toArray());
+			} catch (NumberFormatException e) {
+				// Not one of ours, so it cannot match
+			}
+		}
+		return new VersionPrecondition(candidates);
+	}
+}
@@ -0,0 +1,50 @@
+package com.ad.simpleLib.controllers;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ad.simpleLib.domain.dto.AuthorDto;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.mappers.Mapper;
+import com.ad.simpleLib.services.ReactiveAuthorService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+public class ReactiveAuthorController {
+
+    private ReactiveAuthorService reactiveAuthorService;
+
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    public ReactiveAuthorController(ReactiveAuthorService reactiveAuthorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.reactiveAuthorService = reactiveAuthorService;
+        this.authorMapper = authorMapper;
+    }
+
+    @GetMapping(path = "/reactive/authors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AuthorDto> streamAuthors() {
+        return reactiveAuthorService.findAll().map(authorMapper::mapTo);
+    }
+
+    @GetMapping(path = "/reactive/authors/by-age", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AuthorDto> streamAuthorsByAge(@RequestParam(name = "min", defaultValue = "0") int minAge,
+    		@RequestParam(name = "max", defaultValue = "2147483647") int maxAge) {
+        return reactiveAuthorService.findByAgeRange(minAge, maxAge).map(authorMapper::mapTo);
+    }
+
+    @GetMapping(path = "/reactive/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> getAuthor(@PathVariable("id") Long id) {
+        return reactiveAuthorService.findOne(id)
+        		.map(authorEntity -> new ResponseEntity<>(authorMapper.mapTo(authorEntity), HttpStatus.OK))
+        		.defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
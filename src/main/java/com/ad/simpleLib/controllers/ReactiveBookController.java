@@ -0,0 +1,59 @@
+package com.ad.simpleLib.controllers;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.dto.CursorPageDto;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.mappers.Mapper;
+import com.ad.simpleLib.services.ReactiveBookService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+public class ReactiveBookController {
+
+    private ReactiveBookService reactiveBookService;
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    public ReactiveBookController(ReactiveBookService reactiveBookService, Mapper<BookEntity, BookDto> bookMapper) {
+        this.reactiveBookService = reactiveBookService;
+        this.bookMapper = bookMapper;
+    }
+
+    @GetMapping(path = "/reactive/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks() {
+        return reactiveBookService.findAll().map(bookMapper::mapTo);
+    }
+
+    // Same cursor contract as /books/keyset
+    @GetMapping(path = "/reactive/books/keyset")
+    public Mono<CursorPageDto<BookDto>> listBooksAfter(@RequestParam(name = "cursor", required = false) String cursor,
+    		@RequestParam(name = "size", defaultValue = "20") int size) {
+        int pageSize = Cursors.pageSize(size);
+        return reactiveBookService.findAllAfter(Cursors.decode(cursor), pageSize + 1).collectList().map(books -> {
+        	String next = null;
+        	if (books.size() > pageSize) {
+        		books = books.subList(0, pageSize);
+        		next = Cursors.encode(books.get(pageSize - 1).getIsbn());
+        	}
+        	return new CursorPageDto<>(books.stream().map(bookMapper::mapTo).toList(), next);
+        });
+    }
+
+    @GetMapping(path = "/reactive/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> getBook(@PathVariable("isbn") String isbn) {
+        return reactiveBookService.findOne(isbn)
+        		.map(bookEntity -> new ResponseEntity<>(bookMapper.mapTo(bookEntity), HttpStatus.OK))
+        		.defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
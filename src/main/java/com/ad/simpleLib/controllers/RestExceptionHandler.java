@@ -0,0 +1,23 @@
+package com.ad.simpleLib.controllers;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.ad.simpleLib.services.InvalidFieldsException;
+
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<Void> handleStaleVersion(OptimisticLockingFailureException e) {
+		return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@ExceptionHandler(InvalidFieldsException.class)
+	public ResponseEntity<String> handleInvalidFields(InvalidFieldsException e) {
+		return ResponseEntity.badRequest().body(e.getMessage());
+	}
+}
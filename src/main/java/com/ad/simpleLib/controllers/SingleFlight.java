@@ -0,0 +1,63 @@
+package com.ad.simpleLib.controllers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader and every
+ * caller arriving while it runs waits for and shares its result. Nothing is kept once the call completes.
+ */
+final class SingleFlight<K, V> {
+
+	static final String CALLS = "simplelib.singleflight.calls";
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final Counter loaded;
+
+	private final Counter collapsed;
+
+	SingleFlight(String name, MeterRegistry meterRegistry) {
+		this.loaded = Counter.builder(CALLS).tag("name", name).tag("outcome", "loaded").register(meterRegistry);
+		this.collapsed = Counter.builder(CALLS).tag("name", name).tag("outcome", "collapsed").register(meterRegistry);
+	}
+
+	V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+		if (running != null) {
+			collapsed.increment();
+			return join(running);
+		}
+		loaded.increment();
+		try {
+			V value = loader.get();
+			call.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, call);
+		}
+	}
+
+	private static <V> V join(CompletableFuture<V> call) {
+		try {
+			return call.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.ad.simpleLib.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookBatchDeleteResultDto {
+
+	private int deleted;
+}
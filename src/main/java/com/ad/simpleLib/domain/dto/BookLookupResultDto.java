@@ -0,0 +1,19 @@
+package com.ad.simpleLib.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookLookupResultDto {
+
+	private String isbn;
+
+	private boolean found;
+
+	private BookDto book;
+}
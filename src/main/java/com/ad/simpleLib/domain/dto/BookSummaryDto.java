@@ -0,0 +1,21 @@
+package com.ad.simpleLib.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookSummaryDto {
+
+	private String isbn;
+
+	private String title;
+
+	private Long authorId;
+
+	private String authorName;
+}
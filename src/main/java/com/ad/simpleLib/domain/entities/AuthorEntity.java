@@ -1,13 +1,18 @@
 package com.ad.simpleLib.domain.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -15,15 +20,23 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = @Index(name = "authors_age_id_idx", columnList = "age, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AuthorEntity.CACHE_REGION)
 public class AuthorEntity {
 
+    public static final String CACHE_REGION = "authors";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
+    @PooledSequence("author_id_seq")
     private Long id;
 
     private String name;
 
     private Integer age;
 
+    @Version
+    @EqualsAndHashCode.Exclude
+    private long version;
+
 }
\ No newline at end of file
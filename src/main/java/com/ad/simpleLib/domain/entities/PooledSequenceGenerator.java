@@ -0,0 +1,42 @@
+package com.ad.simpleLib.domain.entities;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator behind {@link PooledSequence} that hands out ids in blocks using the pooled-lo optimizer.
+ * The block size comes from the {@value #INCREMENT_SIZE_SETTING} setting so it can
+ * be tuned per environment; it must match the INCREMENT BY of the database sequence.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+	public static final String INCREMENT_SIZE_SETTING = "simplelib.id.increment_size";
+
+	public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+	private final String sequenceName;
+
+	public PooledSequenceGenerator(PooledSequence config) {
+		this.sequenceName = config.value();
+	}
+
+	@Override
+	public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+		ConfigurationService configurationService = serviceRegistry.getService(ConfigurationService.class);
+		String incrementSize = configurationService.getSetting(INCREMENT_SIZE_SETTING, StandardConverters.STRING,
+				String.valueOf(DEFAULT_INCREMENT_SIZE));
+		parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+		parameters.setProperty(INCREMENT_PARAM, incrementSize);
+		if (parameters.getProperty(OPT_PARAM) == null) {
+			parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+		}
+		super.configure(type, parameters, serviceRegistry);
+	}
+}
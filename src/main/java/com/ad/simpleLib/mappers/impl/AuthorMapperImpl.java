@@ -1,28 +1,38 @@
 package com.ad.simpleLib.mappers.impl;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import com.ad.simpleLib.domain.dto.AuthorDto;
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.mappers.Mapper;
 
+import io.micrometer.core.annotation.Timed;
+
 @Component
+@Timed("simplelib.mapper")
 public class AuthorMapperImpl implements Mapper<AuthorEntity, AuthorDto> {
 
-    private ModelMapper modelMapper;
-
-    public AuthorMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
     @Override
     public AuthorDto mapTo(AuthorEntity authorEntity) {
-        return modelMapper.map(authorEntity, AuthorDto.class);
+        if (authorEntity == null) {
+            return null;
+        }
+        return AuthorDto.builder()
+                .id(authorEntity.getId())
+                .name(authorEntity.getName())
+                .age(authorEntity.getAge())
+                .build();
     }
 
     @Override
     public AuthorEntity mapFrom(AuthorDto authorDto) {
-        return modelMapper.map(authorDto, AuthorEntity.class);
+        if (authorDto == null) {
+            return null;
+        }
+        return AuthorEntity.builder()
+                .id(authorDto.getId())
+                .name(authorDto.getName())
+                .age(authorDto.getAge())
+                .build();
     }
 }
@@ -1,31 +1,49 @@
 package com.ad.simpleLib.mappers.impl;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import com.ad.simpleLib.domain.dto.AuthorDto;
 import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.domain.entities.BookEntity;
 import com.ad.simpleLib.mappers.Mapper;
 
+import io.micrometer.core.annotation.Timed;
+
 @Component
+@Timed("simplelib.mapper")
 public class BookMapper implements Mapper<BookEntity, BookDto> {
 
-	private ModelMapper modelMapper;
+	private Mapper<AuthorEntity, AuthorDto> authorMapper;
 	
 	
-	public BookMapper(ModelMapper modelMapper) {
+	public BookMapper(Mapper<AuthorEntity, AuthorDto> authorMapper) {
 		super();
-		this.modelMapper = modelMapper;
+		this.authorMapper = authorMapper;
 	}
 
 	@Override
 	public BookDto mapTo(BookEntity book) {
-		return modelMapper.map(book, BookDto.class);
+		if (book == null) {
+			return null;
+		}
+		return BookDto.builder()
+				.isbn(book.getIsbn())
+				.title(book.getTitle())
+				.author(authorMapper.mapTo(book.getAuthorEntity()))
+				.build();
 	}
 
 	@Override
 	public BookEntity mapFrom(BookDto bookDto) {
-		return modelMapper.map(bookDto, BookEntity.class);
+		if (bookDto == null) {
+			return null;
+		}
+		return BookEntity.builder()
+				.isbn(bookDto.getIsbn())
+				.title(bookDto.getTitle())
+				.authorEntity(authorMapper.mapFrom(bookDto.getAuthor()))
+				.build();
 	}
 
 }
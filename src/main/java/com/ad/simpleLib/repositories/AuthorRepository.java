@@ -1,16 +1,53 @@
 package com.ad.simpleLib.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
 
-    Iterable<AuthorEntity> ageLessThan(int age);
+    // Paged in authors_age_id_idx order, so a page is read straight off the index
+    @Query("SELECT a from AuthorEntity a where a.age < ?1 order by a.age, a.id")
+    Slice<AuthorEntity> ageLessThan(int age, Pageable pageable);
+
+    @Query("SELECT a from AuthorEntity a where a.age > ?1 order by a.age, a.id")
+    Slice<AuthorEntity> findAuthorsWithAgeGreaterThan(int age, Pageable pageable);
+
+    @Query("SELECT a.version from AuthorEntity a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // A full export would otherwise push every author through the authors cache region
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT a from AuthorEntity a")
+    Stream<AuthorEntity> streamAll();
+
+    @Query("SELECT a from AuthorEntity a"
+            + " where a.age >= :afterAge and a.age <= :maxAge and (a.age > :afterAge or a.id > :afterId)"
+            + " order by a.age, a.id")
+    List<AuthorEntity> findByAgeRangeAfter(@Param("afterAge") int afterAge, @Param("afterId") long afterId,
+            @Param("maxAge") int maxAge, Pageable pageable);
 
-    @Query("SELECT a from AuthorEntity a where a.age > ?1")
-    Iterable<AuthorEntity> findAuthorsWithAgeGreaterThan(int age);
-}
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM AuthorEntity a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
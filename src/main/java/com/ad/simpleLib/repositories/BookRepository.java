@@ -1,12 +1,93 @@
 package com.ad.simpleLib.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import com.ad.simpleLib.domain.dto.BookSummaryDto;
 import com.ad.simpleLib.domain.entities.BookEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookRepository extends CrudRepository<BookEntity, String>,
 		PagingAndSortingRepository<BookEntity, String>{
+
+	@Override
+	@EntityGraph(attributePaths = "authorEntity")
+	Optional<BookEntity> findById(String isbn);
+
+	@Override
+	@EntityGraph(attributePaths = "authorEntity")
+	Iterable<BookEntity> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = "authorEntity")
+	Page<BookEntity> findAll(Pageable pageable);
+
+	@EntityGraph(attributePaths = "authorEntity")
+	List<BookEntity> findByIsbnIn(Collection<String> isbns);
+
+	@EntityGraph(attributePaths = "authorEntity")
+	List<BookEntity> findByIsbnGreaterThanOrderByIsbnAsc(String isbn, Limit limit);
+
+	@EntityGraph(attributePaths = "authorEntity")
+	@Query("SELECT b FROM BookEntity b")
+	Slice<BookEntity> findSliceBy(Pageable pageable);
+
+	@EntityGraph(attributePaths = "authorEntity")
+	@Query("SELECT b FROM BookEntity b WHERE b.authorEntity.id = :authorId AND b.isbn > :isbn ORDER BY b.isbn")
+	List<BookEntity> findByAuthorAfter(@Param("authorId") Long authorId, @Param("isbn") String isbn, Limit limit);
+
+	@EntityGraph(attributePaths = "authorEntity")
+	@Query("SELECT b FROM BookEntity b WHERE b.authorEntity.id IN :authorIds ORDER BY b.authorEntity.id, b.isbn")
+	List<BookEntity> findByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds);
+
+	@Query(value = "SELECT new com.ad.simpleLib.domain.dto.BookSummaryDto(b.isbn, b.title, a.id, a.name) "
+			+ "FROM BookEntity b LEFT JOIN b.authorEntity a",
+			countQuery = "SELECT count(b) FROM BookEntity b")
+	Page<BookSummaryDto> findSummaries(Pageable pageable);
+
+	@Query("SELECT b.version AS version, a.version AS authorVersion FROM BookEntity b LEFT JOIN b.authorEntity a WHERE b.isbn = :isbn")
+	Optional<BookVersionView> findVersionByIsbn(@Param("isbn") String isbn);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT b.isbn AS isbn, b.title AS title FROM BookEntity b")
+	Stream<BookTitleView> streamTitles();
+
+	@Query(nativeQuery = true,
+			value = "SELECT b.isbn FROM books b"
+					+ " WHERE to_tsvector('simple', coalesce(b.title, '')) @@ plainto_tsquery('simple', :query)"
+					+ " ORDER BY ts_rank(to_tsvector('simple', coalesce(b.title, '')), plainto_tsquery('simple', :query)) DESC, b.isbn",
+			countQuery = "SELECT count(*) FROM books b"
+					+ " WHERE to_tsvector('simple', coalesce(b.title, '')) @@ plainto_tsquery('simple', :query)")
+	Page<String> searchIsbnsByTitle(@Param("query") String query, Pageable pageable);
+
+	@Query("SELECT b.isbn FROM BookEntity b WHERE b.isbn IN :isbns")
+	List<String> findIsbnsByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+	@Modifying
+	@Query("DELETE FROM BookEntity b WHERE b.isbn IN :isbns")
+	int deleteByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+	// Versioned so that ETags of the affected books change
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE VERSIONED BookEntity b SET b.authorEntity = null WHERE b.authorEntity.id IN :authorIds")
+	int unsetAuthorIn(@Param("authorIds") Collection<Long> authorIds);
 }
@@ -0,0 +1,8 @@
+package com.ad.simpleLib.repositories;
+
+public interface BookTitleView {
+
+	String getIsbn();
+
+	String getTitle();
+}
@@ -0,0 +1,8 @@
+package com.ad.simpleLib.repositories;
+
+public interface BookVersionView {
+
+	long getVersion();
+
+	Long getAuthorVersion();
+}
@@ -1,20 +1,39 @@
 package com.ad.simpleLib.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 
 public interface AuthorService {
     AuthorEntity save(AuthorEntity authorEntity);
 
+	List<WriteResult<AuthorEntity>> saveAll(List<AuthorEntity> authorEntities);
+
 	List<AuthorEntity> findAll();
 
+	List<Map<String, Object>> findFields(Collection<String> fields);
+
+	void streamAll(Consumer<AuthorEntity> action);
+
+	List<AuthorEntity> findByAgeRange(int minAge, int maxAge, Integer afterAge, Long afterId, int limit);
+
 	Optional<AuthorEntity> findOne(Long id);
 
+	Optional<Map<String, Object>> findOneFields(Long id, Collection<String> fields);
+
 	boolean isExists(Long id);
 
-	AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity);
+	Optional<Long> findVersion(Long id);
+
+	Optional<AuthorEntity> fullUpdate(Long id, AuthorEntity authorEntity, VersionPrecondition precondition);
+
+	Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, VersionPrecondition precondition);
 
 	void delete(Long id);
+
+	DeleteResult deleteAll(List<Long> ids);
 }
\ No newline at end of file
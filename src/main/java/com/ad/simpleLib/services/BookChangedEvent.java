@@ -0,0 +1,21 @@
+package com.ad.simpleLib.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the book service whenever a book is written or removed;
+ * {@code title} is {@code null} for removals.
+ */
+@Data
+@AllArgsConstructor
+public class BookChangedEvent {
+
+	private String isbn;
+
+	private String title;
+
+	public boolean isRemoved() {
+		return title == null;
+	}
+}
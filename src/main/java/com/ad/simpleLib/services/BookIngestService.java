@@ -0,0 +1,24 @@
+package com.ad.simpleLib.services;
+
+import java.util.Collection;
+
+import com.ad.simpleLib.domain.entities.BookEntity;
+
+/**
+ * Accepts book upserts for asynchronous, batched persistence.
+ */
+public interface BookIngestService {
+
+	/**
+	 * Queues the upsert, replacing any pending write for the same isbn.
+	 * Returns false when the queue is full and the caller should retry later.
+	 */
+	boolean offer(String isbn, BookEntity book);
+
+	/**
+	 * Writes any queued upserts for these isbns now, after a flush already under way, so that a
+	 * synchronous write issued next lands on top of them. Queued writes that fail here are not retried,
+	 * since the caller's write supersedes them; they are dead-lettered like writes that ran out of attempts.
+	 */
+	void flushPending(Collection<String> isbns);
+}
@@ -0,0 +1,11 @@
+package com.ad.simpleLib.services;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.ad.simpleLib.domain.entities.BookEntity;
+
+public interface BookSearchService {
+
+	Page<BookEntity> search(String query, Pageable pageable);
+}
@@ -1,25 +1,51 @@
 package com.ad.simpleLib.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.ad.simpleLib.domain.dto.BookSummaryDto;
 import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.repositories.BookVersionView;
 
 public interface BookService {
 
 	BookEntity createUpdateBook(String isbn, BookEntity book);
 
+	WriteResult<BookEntity> upsert(String isbn, BookEntity book, VersionPrecondition precondition);
+
+	List<WriteResult<BookEntity>> createUpdateBooks(List<BookEntity> books);
+
 	List<BookEntity> findAll();
 	Page<BookEntity> findAll(Pageable pageable);
+	Slice<BookEntity> findSlice(Pageable pageable);
+
+	Page<BookSummaryDto> findSummaries(Pageable pageable);
+	Page<Map<String, Object>> findFields(Collection<String> fields, Pageable pageable);
+	Slice<Map<String, Object>> findFieldsSlice(Collection<String> fields, Pageable pageable);
+	List<BookEntity> findAllAfter(String isbn, int limit);
+	List<BookEntity> findByAuthorAfter(Long authorId, String isbn, int limit);
+	Map<Long, List<BookEntity>> findByAuthors(Collection<Long> authorIds);
+	Page<BookEntity> search(String query, Pageable pageable);
 
 	Optional<BookEntity> findOne(String isbn);
 
+	List<Optional<BookEntity>> findAllByIsbn(List<String> isbns);
+
+	Optional<Map<String, Object>> findOneFields(String isbn, Collection<String> fields);
+
 	boolean isExists(String isbn);
 
-	BookEntity partialUpdate(String isbn, BookEntity bookEntity);
+	Optional<BookVersionView> findVersion(String isbn);
+
+	Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, VersionPrecondition precondition);
 
 	void delete(String isbn);
+
+	int deleteAll(List<String> isbns);
 }
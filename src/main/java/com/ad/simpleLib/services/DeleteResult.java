@@ -0,0 +1,15 @@
+package com.ad.simpleLib.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeleteResult {
+
+	private int deleted;
+
+	private int detached;
+}
@@ -0,0 +1,8 @@
+package com.ad.simpleLib.services;
+
+public class InvalidFieldsException extends RuntimeException {
+
+	public InvalidFieldsException(String message) {
+		super(message);
+	}
+}
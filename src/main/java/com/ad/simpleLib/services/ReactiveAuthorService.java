@@ -0,0 +1,15 @@
+package com.ad.simpleLib.services;
+
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthorService {
+
+	Flux<AuthorEntity> findAll();
+
+	Flux<AuthorEntity> findByAgeRange(int minAge, int maxAge);
+
+	Mono<AuthorEntity> findOne(Long id);
+}
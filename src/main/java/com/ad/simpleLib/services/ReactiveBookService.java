@@ -0,0 +1,15 @@
+package com.ad.simpleLib.services;
+
+import com.ad.simpleLib.domain.entities.BookEntity;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+
+	Flux<BookEntity> findAll();
+
+	Flux<BookEntity> findAllAfter(String isbn, int limit);
+
+	Mono<BookEntity> findOne(String isbn);
+}
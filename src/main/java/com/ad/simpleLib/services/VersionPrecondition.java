@@ -0,0 +1,36 @@
+package com.ad.simpleLib.services;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The versions a conditional write was made against, as sent in If-Match. Each candidate holds the
+ * version of the entity followed by the versions of the entities embedded in its representation;
+ * the write may proceed when the current versions equal one of the candidates.
+ */
+public class VersionPrecondition {
+
+	/** Matches any existing entity, as {@code If-Match: *} does. */
+	public static final VersionPrecondition ANY = new VersionPrecondition(null);
+
+	private final List<long[]> candidates;
+
+	public VersionPrecondition(List<long[]> candidates) {
+		this.candidates = candidates;
+	}
+
+	public boolean matches(long... currentVersions) {
+		return candidates == null || candidates.stream().anyMatch(candidate -> Arrays.equals(candidate, currentVersions));
+	}
+
+	@Override
+	public String toString() {
+		if (candidates == null) {
+			return "*";
+		}
+		return candidates.stream()
+				.map(candidate -> Arrays.stream(candidate).mapToObj(Long::toString).collect(Collectors.joining(".")))
+				.collect(Collectors.joining(", "));
+	}
+}
@@ -0,0 +1,15 @@
+package com.ad.simpleLib.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WriteResult<T> {
+
+	private T entity;
+
+	private boolean created;
+}
@@ -1,23 +1,59 @@
 package com.ad.simpleLib.services.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.repositories.AuthorRepository;
+import com.ad.simpleLib.repositories.BookRepository;
 import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.DeleteResult;
+import com.ad.simpleLib.services.VersionPrecondition;
+import com.ad.simpleLib.services.WriteResult;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 
 @Service
+@Timed("simplelib.service")
 public class AuthorServiceImpl implements AuthorService {
 
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", "a.id");
+        FIELDS.put("name", "a.name");
+        FIELDS.put("age", "a.age");
+    }
+
     private AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    private BookRepository bookRepository;
+
+    private EntityManager entityManager;
+
+    public AuthorServiceImpl(AuthorRepository authorRepository, BookRepository bookRepository, EntityManager entityManager) {
         this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -26,33 +62,146 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
 	@Override
+	@Transactional
+	public List<WriteResult<AuthorEntity>> saveAll(List<AuthorEntity> authorEntities) {
+		Map<Long, AuthorEntity> existingAuthors = new HashMap<>();
+		List<Long> ids = authorEntities.stream().map(AuthorEntity::getId).filter(Objects::nonNull).distinct().toList();
+		for (int i = 0; i < ids.size(); i += LOOKUP_CHUNK_SIZE) {
+			authorRepository.findAllById(ids.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, ids.size())))
+					.forEach(author -> existingAuthors.put(author.getId(), author));
+		}
+
+		List<WriteResult<AuthorEntity>> results = new ArrayList<>(authorEntities.size());
+		for (AuthorEntity authorEntity : authorEntities) {
+			AuthorEntity existingAuthor = authorEntity.getId() == null ? null : existingAuthors.get(authorEntity.getId());
+			if (existingAuthor != null) {
+				existingAuthor.setName(authorEntity.getName());
+				existingAuthor.setAge(authorEntity.getAge());
+				results.add(new WriteResult<>(existingAuthor, false));
+			} else {
+				authorEntity.setId(null);
+				entityManager.persist(authorEntity);
+				results.add(new WriteResult<>(authorEntity, true));
+			}
+		}
+		return results;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public List<AuthorEntity> findAll() {
 		return StreamSupport.stream(authorRepository.findAll().spliterator(), false).collect(Collectors.toList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> findFields(Collection<String> fields) {
+		FieldProjection projection = FieldProjection.select(fields, FIELDS, Map.of());
+		return entityManager.createQuery("SELECT " + projection.selectList() + " FROM AuthorEntity a", Tuple.class)
+				.getResultList()
+				.stream()
+				.map(projection::toMap)
+				.toList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<AuthorEntity> action) {
+		try (Stream<AuthorEntity> authors = authorRepository.streamAll()) {
+			authors.forEach(author -> {
+				action.accept(author);
+				// Keep the persistence context flat while scrolling through the table
+				entityManager.detach(author);
+			});
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuthorEntity> findByAgeRange(int minAge, int maxAge, Integer afterAge, Long afterId, int limit) {
+		if (afterAge == null || afterId == null || afterAge < minAge) {
+			return authorRepository.findByAgeRangeAfter(minAge, Long.MIN_VALUE, maxAge, PageRequest.of(0, limit));
+		}
+		return authorRepository.findByAgeRangeAfter(afterAge, afterId, maxAge, PageRequest.of(0, limit));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Optional<AuthorEntity> findOne(Long id) {
 		return authorRepository.findById(id);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public Optional<Map<String, Object>> findOneFields(Long id, Collection<String> fields) {
+		FieldProjection projection = FieldProjection.select(fields, FIELDS, Map.of());
+		return entityManager.createQuery("SELECT " + projection.selectList() + " FROM AuthorEntity a WHERE a.id = :id", Tuple.class)
+				.setParameter("id", id)
+				.getResultStream()
+				.findFirst()
+				.map(projection::toMap);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findVersion(Long id) {
+		return authorRepository.findVersionById(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public boolean isExists(Long id) {
 		return authorRepository.existsById(id);
 	}
 
 	@Override
-	public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
+	@Transactional
+	public Optional<AuthorEntity> fullUpdate(Long id, AuthorEntity authorEntity, VersionPrecondition precondition) {
+		return authorRepository.findById(id).map(existingAuthor -> {
+			checkVersion(existingAuthor, precondition);
+			existingAuthor.setName(authorEntity.getName());
+			existingAuthor.setAge(authorEntity.getAge());
+			return existingAuthor;
+		});
+	}
+
+	@Override
+	@Transactional
+	public Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, VersionPrecondition precondition) {
 		authorEntity.setId(id);
 		
 		return authorRepository.findById(id).map(existingAuthor -> {
+			checkVersion(existingAuthor, precondition);
 			Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
 			Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
-			return authorRepository.save(existingAuthor);
-		}).orElseThrow(() -> new RuntimeException("Author does not exist"));
+			return existingAuthor;
+		});
 	}
 
 	@Override
+	@Transactional
 	public void delete(Long id) {
-		authorRepository.deleteById(id);
+		deleteAll(List.of(id));
+	}
+
+	@Override
+	@Transactional
+	public DeleteResult deleteAll(List<Long> ids) {
+		List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+		int detached = 0;
+		int deleted = 0;
+		for (int i = 0; i < distinctIds.size(); i += LOOKUP_CHUNK_SIZE) {
+			List<Long> chunk = distinctIds.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, distinctIds.size()));
+			// Books outlive their author, so drop the reference before the authors go
+			detached += bookRepository.unsetAuthorIn(chunk);
+			deleted += authorRepository.deleteByIdIn(chunk);
+		}
+		return new DeleteResult(deleted, detached);
+	}
+
+	private static void checkVersion(AuthorEntity existingAuthor, VersionPrecondition precondition) {
+		if (precondition != null && !precondition.matches(existingAuthor.getVersion())) {
+			throw new OptimisticLockingFailureException("Author has been modified since version " + precondition);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -1,75 +1,386 @@
 package com.ad.simpleLib.services.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import org.hibernate.Session;
+import org.hibernate.graph.RootGraph;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ad.simpleLib.domain.dto.BookSummaryDto;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.repositories.AuthorRepository;
 import com.ad.simpleLib.repositories.BookRepository;
+import com.ad.simpleLib.repositories.BookVersionView;
+import com.ad.simpleLib.services.BookChangedEvent;
+import com.ad.simpleLib.services.BookSearchService;
 import com.ad.simpleLib.services.BookService;
+import com.ad.simpleLib.services.InvalidFieldsException;
+import com.ad.simpleLib.services.VersionPrecondition;
+import com.ad.simpleLib.services.WriteResult;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 
 @Service
+@Timed("simplelib.service")
 public class BookServiceImpl implements BookService {
 
+	private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+	private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+	static {
+		FIELDS.put("isbn", "b.isbn");
+		FIELDS.put("title", "b.title");
+		FIELDS.put("author.id", "a.id");
+		FIELDS.put("author.name", "a.name");
+		FIELDS.put("author.age", "a.age");
+	}
+
+	private static final Map<String, String> PRESENCE = Map.of("author", "a.id");
+
 	private BookRepository bookRepository;
 	
+	private AuthorRepository authorRepository;
+	
+	private EntityManager entityManager;
+	
+	private BookSearchService bookSearchService;
+	
+	private ApplicationEventPublisher eventPublisher;
+	
 	
-	public BookServiceImpl(BookRepository bookRepository) {
+	public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+			EntityManager entityManager, BookSearchService bookSearchService, ApplicationEventPublisher eventPublisher) {
 		super();
 		this.bookRepository = bookRepository;
+		this.authorRepository = authorRepository;
+		this.entityManager = entityManager;
+		this.bookSearchService = bookSearchService;
+		this.eventPublisher = eventPublisher;
 	}
 
 
 	@Override
+	@Transactional
 	public BookEntity createUpdateBook(String isbn, BookEntity book) {
+		return upsert(isbn, book, null).getEntity();
+	}
+
+
+	@Override
+	@Transactional
+	public WriteResult<BookEntity> upsert(String isbn, BookEntity book, VersionPrecondition precondition) {
 		book.setIsbn(isbn);
-		return bookRepository.save(book);
+		BookEntity existingBook = bookRepository.findById(isbn).orElse(null);
+		checkVersion(existingBook, precondition);
+		return write(book, existingBook);
+	}
+
+
+	@Override
+	@Transactional
+	public List<WriteResult<BookEntity>> createUpdateBooks(List<BookEntity> books) {
+		Map<String, BookEntity> existingBooks = new HashMap<>();
+		List<String> isbns = books.stream().map(BookEntity::getIsbn).distinct().toList();
+		for (int i = 0; i < isbns.size(); i += LOOKUP_CHUNK_SIZE) {
+			bookRepository.findAllById(isbns.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, isbns.size())))
+					.forEach(book -> existingBooks.put(book.getIsbn(), book));
+		}
+		// Load referenced authors up front so attachAuthor is served from the persistence context
+		List<Long> authorIds = books.stream()
+				.map(BookEntity::getAuthorEntity)
+				.filter(Objects::nonNull)
+				.map(AuthorEntity::getId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList();
+		for (int i = 0; i < authorIds.size(); i += LOOKUP_CHUNK_SIZE) {
+			authorRepository.findAllById(authorIds.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, authorIds.size())));
+		}
+
+		List<WriteResult<BookEntity>> results = new ArrayList<>(books.size());
+		for (BookEntity book : books) {
+			WriteResult<BookEntity> result = write(book, existingBooks.get(book.getIsbn()));
+			existingBooks.put(book.getIsbn(), result.getEntity());
+			results.add(result);
+		}
+		return results;
 	}
 
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<BookEntity> findAll() {
 		return StreamSupport.stream(bookRepository.findAll().spliterator(), false).collect(Collectors.toList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Page<BookEntity> findAll(Pageable pageable) {
 		return bookRepository.findAll(pageable);
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<BookEntity> findSlice(Pageable pageable) {
+		return bookRepository.findSliceBy(pageable);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Page<BookSummaryDto> findSummaries(Pageable pageable) {
+		return bookRepository.findSummaries(pageable);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findFields(Collection<String> fields, Pageable pageable) {
+		List<Map<String, Object>> content = findFields(fields, pageable, 0);
+		return PageableExecutionUtils.getPage(content, pageable,
+				() -> entityManager.createQuery("SELECT count(b) FROM BookEntity b", Long.class).getSingleResult());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<Map<String, Object>> findFieldsSlice(Collection<String> fields, Pageable pageable) {
+		// One row past the page tells whether there is a next one
+		List<Map<String, Object>> content = findFields(fields, pageable, 1);
+		boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookEntity> findAllAfter(String isbn, int limit) {
+		return bookRepository.findByIsbnGreaterThanOrderByIsbnAsc(isbn == null ? "" : isbn, Limit.of(limit));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookEntity> findByAuthorAfter(Long authorId, String isbn, int limit) {
+		return bookRepository.findByAuthorAfter(authorId, isbn == null ? "" : isbn, Limit.of(limit));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, List<BookEntity>> findByAuthors(Collection<Long> authorIds) {
+		List<Long> ids = authorIds.stream().filter(Objects::nonNull).distinct().toList();
+		Map<Long, List<BookEntity>> booksByAuthor = new LinkedHashMap<>();
+		ids.forEach(id -> booksByAuthor.put(id, new ArrayList<>()));
+		for (int i = 0; i < ids.size(); i += LOOKUP_CHUNK_SIZE) {
+			bookRepository.findByAuthorIdIn(ids.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, ids.size())))
+					.forEach(book -> booksByAuthor.get(book.getAuthorEntity().getId()).add(book));
+		}
+		return booksByAuthor;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Page<BookEntity> search(String query, Pageable pageable) {
+		return bookSearchService.search(query, pageable);
+	}
 
 
 	@Override
+	@Transactional(readOnly = true)
 	public Optional<BookEntity> findOne(String isbn) {
 		return bookRepository.findById(isbn);
 	}
 
 
 	@Override
+	@Transactional(readOnly = true)
+	public List<Optional<BookEntity>> findAllByIsbn(List<String> isbns) {
+		Session session = entityManager.unwrap(Session.class);
+		RootGraph<BookEntity> withAuthor = session.createEntityGraph(BookEntity.class);
+		withAuthor.addAttributeNodes("authorEntity");
+		List<String> distinctIsbns = isbns.stream().filter(Objects::nonNull).distinct().toList();
+		Map<String, BookEntity> foundBooks = new HashMap<>();
+		// Books already in the persistence context or the second-level cache are not queried again;
+		// the request order is rebuilt from the map, so Hibernate need not keep it
+		for (int i = 0; i < distinctIsbns.size(); i += LOOKUP_CHUNK_SIZE) {
+			session.byMultipleIds(BookEntity.class)
+					.withFetchGraph(withAuthor)
+					.enableSessionCheck(true)
+					.with(session.getCacheMode())
+					.enableOrderedReturn(false)
+					.withBatchSize(LOOKUP_CHUNK_SIZE)
+					.multiLoad(distinctIsbns.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, distinctIsbns.size())))
+					.stream()
+					.filter(Objects::nonNull)
+					.forEach(book -> foundBooks.put(book.getIsbn(), book));
+		}
+		return isbns.stream().map(isbn -> Optional.ofNullable(foundBooks.get(isbn))).toList();
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Map<String, Object>> findOneFields(String isbn, Collection<String> fields) {
+		FieldProjection projection = FieldProjection.select(fields, FIELDS, PRESENCE);
+		return entityManager.createQuery("SELECT " + projection.selectList() + from(projection, Sort.unsorted()) + " WHERE b.isbn = :isbn", Tuple.class)
+				.setParameter("isbn", isbn)
+				.getResultStream()
+				.findFirst()
+				.map(projection::toMap);
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<BookVersionView> findVersion(String isbn) {
+		return bookRepository.findVersionByIsbn(isbn);
+	}
+
+
+	@Override
+	@Transactional(readOnly = true)
 	public boolean isExists(String isbn) {
 		return bookRepository.existsById(isbn);
 	}
 
 
 	@Override
-	public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
+	@Transactional
+	public Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, VersionPrecondition precondition) {
 		bookEntity.setIsbn(isbn);
 		
 		return bookRepository.findById(isbn).map(existingBook -> {
+			checkVersion(existingBook, precondition);
 			Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-			return bookRepository.save(existingBook);
-		}).orElseThrow(() -> new RuntimeException("Book does not exist"));
+			eventPublisher.publishEvent(new BookChangedEvent(isbn, existingBook.getTitle()));
+			return existingBook;
+		});
 	}
 
 
 	@Override
+	@Transactional
 	public void delete(String isbn) {
-		bookRepository.deleteById(isbn);
-		
+		// As in deleteAll, only a book that was there is announced
+		bookRepository.findById(isbn).ifPresent(book -> {
+			bookRepository.delete(book);
+			eventPublisher.publishEvent(new BookChangedEvent(isbn, null));
+		});
+	}
+
+
+	@Override
+	@Transactional
+	public int deleteAll(List<String> isbns) {
+		List<String> distinctIsbns = isbns.stream().filter(Objects::nonNull).distinct().toList();
+		int deleted = 0;
+		for (int i = 0; i < distinctIsbns.size(); i += LOOKUP_CHUNK_SIZE) {
+			// Only books that were there are announced, misses leave the search index alone
+			List<String> existingIsbns = bookRepository.findIsbnsByIsbnIn(
+					distinctIsbns.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, distinctIsbns.size())));
+			if (existingIsbns.isEmpty()) {
+				continue;
+			}
+			deleted += bookRepository.deleteByIsbnIn(existingIsbns);
+			existingIsbns.forEach(isbn -> eventPublisher.publishEvent(new BookChangedEvent(isbn, null)));
+		}
+		return deleted;
+	}
+	
+	
+	private List<Map<String, Object>> findFields(Collection<String> fields, Pageable pageable, int extraRows) {
+		FieldProjection projection = FieldProjection.select(fields, FIELDS, PRESENCE);
+		String jpql = "SELECT " + projection.selectList() + from(projection, pageable.getSort()) + orderBy(pageable.getSort());
+		TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+		if (pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset());
+			query.setMaxResults(pageable.getPageSize() + extraRows);
+		}
+		return query.getResultList().stream().map(projection::toMap).toList();
+	}
+	
+	// The author is only joined when one of its fields was asked for or sorted on
+	private static String from(FieldProjection projection, Sort sort) {
+		boolean author = projection.uses("author") || sort.stream().anyMatch(order -> order.getProperty().startsWith("author."));
+		return author ? " FROM BookEntity b LEFT JOIN b.authorEntity a" : " FROM BookEntity b";
+	}
+	
+	// Sort properties are field names, so only the allow-listed expressions ever reach the query
+	private static String orderBy(Sort sort) {
+		if (sort.isUnsorted()) {
+			return "";
+		}
+		List<String> orders = new ArrayList<>();
+		for (Sort.Order order : sort) {
+			String expression = FIELDS.get(order.getProperty());
+			if (expression == null) {
+				throw new InvalidFieldsException("Unknown sort property: " + order.getProperty());
+			}
+			orders.add(expression + (order.isAscending() ? " ASC" : " DESC"));
+		}
+		return " ORDER BY " + String.join(", ", orders);
+	}
+	
+	
+	private WriteResult<BookEntity> write(BookEntity book, BookEntity existingBook) {
+		AuthorEntity author = attachAuthor(book.getAuthorEntity());
+		eventPublisher.publishEvent(new BookChangedEvent(book.getIsbn(), book.getTitle()));
+		if (existingBook != null) {
+			existingBook.setTitle(book.getTitle());
+			existingBook.setAuthorEntity(author);
+			return new WriteResult<>(existingBook, false);
+		}
+		book.setAuthorEntity(author);
+		entityManager.persist(book);
+		return new WriteResult<>(book, true);
+	}
+	
+	// The book's tag covers its embedded author too, and a PUT may rewrite that author
+	private static void checkVersion(BookEntity existingBook, VersionPrecondition precondition) {
+		if (precondition == null) {
+			return;
+		}
+		AuthorEntity author = existingBook == null ? null : existingBook.getAuthorEntity();
+		boolean matches = existingBook != null && (author == null
+				? precondition.matches(existingBook.getVersion())
+				: precondition.matches(existingBook.getVersion(), author.getVersion()));
+		if (!matches) {
+			throw new OptimisticLockingFailureException("Book has been modified since version " + precondition);
+		}
+	}
+	
+	private AuthorEntity attachAuthor(AuthorEntity author) {
+		if (author == null) {
+			return null;
+		}
+		AuthorEntity existingAuthor = author.getId() == null ? null : entityManager.find(AuthorEntity.class, author.getId());
+		if (existingAuthor == null) {
+			author.setId(null);
+			entityManager.persist(author);
+			return author;
+		}
+		existingAuthor.setName(author.getName());
+		existingAuthor.setAge(author.getAge());
+		return existingAuthor;
 	}
 	
 }
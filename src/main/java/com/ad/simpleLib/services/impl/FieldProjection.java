@@ -0,0 +1,92 @@
+package com.ad.simpleLib.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ad.simpleLib.services.InvalidFieldsException;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * A client-selected subset of a resource's properties, translated into a JPQL select list.
+ * Requested names are dotted paths such as {@code author.name}; a bare prefix such as
+ * {@code author} selects every property below it. Nested objects that are absent, detected
+ * through their presence expression, are written as null instead of an object of nulls.
+ */
+final class FieldProjection {
+
+	private final List<String> paths = new ArrayList<>();
+
+	private final List<String> expressions = new ArrayList<>();
+
+	private final Map<String, String> presence = new LinkedHashMap<>();
+
+	private FieldProjection() {
+	}
+
+	static FieldProjection select(Collection<String> requested, Map<String, String> available,
+			Map<String, String> presenceByPrefix) {
+		List<String> names = requested.stream().map(String::trim).filter(name -> !name.isEmpty()).toList();
+		if (names.isEmpty()) {
+			throw new InvalidFieldsException("No fields selected");
+		}
+		for (String name : names) {
+			if (available.keySet().stream().noneMatch(path -> matches(path, name))) {
+				throw new InvalidFieldsException("Unknown field: " + name);
+			}
+		}
+		FieldProjection projection = new FieldProjection();
+		available.forEach((path, expression) -> {
+			if (names.stream().anyMatch(name -> matches(path, name))) {
+				projection.paths.add(path);
+				projection.expressions.add(expression);
+			}
+		});
+		presenceByPrefix.forEach((prefix, expression) -> {
+			if (projection.uses(prefix)) {
+				projection.presence.put(prefix, expression);
+			}
+		});
+		return projection;
+	}
+
+	boolean uses(String prefix) {
+		return paths.stream().anyMatch(path -> path.startsWith(prefix + "."));
+	}
+
+	String selectList() {
+		List<String> selected = new ArrayList<>(expressions);
+		selected.addAll(presence.values());
+		return String.join(", ", selected);
+	}
+
+	Map<String, Object> toMap(Tuple tuple) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		for (int i = 0; i < paths.size(); i++) {
+			put(result, paths.get(i).split("\\."), tuple.get(i));
+		}
+		int index = paths.size();
+		for (String prefix : presence.keySet()) {
+			if (tuple.get(index++) == null) {
+				result.put(prefix, null);
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void put(Map<String, Object> target, String[] path, Object value) {
+		Map<String, Object> node = target;
+		for (int i = 0; i < path.length - 1; i++) {
+			node = (Map<String, Object>) node.computeIfAbsent(path[i], key -> new LinkedHashMap<String, Object>());
+		}
+		node.put(path[path.length - 1], value);
+	}
+
+	private static boolean matches(String path, String name) {
+		return path.equals(name) || path.startsWith(name + ".");
+	}
+}
@@ -0,0 +1,171 @@
+package com.ad.simpleLib.services.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.repositories.BookRepository;
+import com.ad.simpleLib.repositories.BookTitleView;
+import com.ad.simpleLib.services.BookChangedEvent;
+import com.ad.simpleLib.services.BookSearchService;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Inverted index over book titles kept in memory. It is rebuilt from the books
+ * table on startup and then follows committed writes through {@link BookChangedEvent}s.
+ * Results match every query term and are ranked by tf-idf.
+ */
+@Service
+@Timed("simplelib.service")
+@ConditionalOnProperty(name = "simplelib.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBookSearchService implements BookSearchService {
+
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private BookRepository bookRepository;
+
+	private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+	private final Map<String, List<String>> documents = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public InMemoryBookSearchService(BookRepository bookRepository) {
+		this.bookRepository = bookRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		try (Stream<BookTitleView> titles = bookRepository.streamTitles()) {
+			titles.forEach(book -> index(book.getIsbn(), book.getTitle()));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookChanged(BookChangedEvent event) {
+		if (event.isRemoved()) {
+			remove(event.getIsbn());
+		} else {
+			index(event.getIsbn(), event.getTitle());
+		}
+	}
+
+	@Override
+	public Page<BookEntity> search(String query, Pageable pageable) {
+		List<String> terms = tokenize(query).stream().distinct().toList();
+		if (terms.isEmpty()) {
+			return Page.empty(pageable);
+		}
+
+		List<ScoredIsbn> matches = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			List<Map<String, Integer>> termPostings = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				Map<String, Integer> termPosting = postings.get(term);
+				if (termPosting == null) {
+					return Page.empty(pageable);
+				}
+				termPostings.add(termPosting);
+			}
+			termPostings.sort(Comparator.comparingInt(Map::size));
+
+			int documentCount = documents.size();
+			candidates:
+			for (Map.Entry<String, Integer> candidate : termPostings.get(0).entrySet()) {
+				double score = 0;
+				for (Map<String, Integer> termPosting : termPostings) {
+					Integer frequency = termPosting.get(candidate.getKey());
+					if (frequency == null) {
+						continue candidates;
+					}
+					score += frequency * Math.log(1.0 + (double) documentCount / termPosting.size());
+				}
+				matches.add(new ScoredIsbn(candidate.getKey(), score));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		matches.sort(Comparator.comparingDouble(ScoredIsbn::score).reversed().thenComparing(ScoredIsbn::isbn));
+		int from = (int) Math.min(pageable.getOffset(), matches.size());
+		int to = Math.min(from + pageable.getPageSize(), matches.size());
+		List<String> pageIsbns = matches.subList(from, to).stream().map(ScoredIsbn::isbn).toList();
+
+		Map<String, BookEntity> books = new HashMap<>();
+		bookRepository.findByIsbnIn(pageIsbns).forEach(book -> books.put(book.getIsbn(), book));
+		List<BookEntity> content = pageIsbns.stream().map(books::get).filter(book -> book != null).toList();
+		return new PageImpl<>(content, pageable, matches.size());
+	}
+
+	private void index(String isbn, String title) {
+		List<String> tokens = tokenize(title);
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(isbn);
+			documents.put(isbn, tokens);
+			for (String token : tokens) {
+				postings.computeIfAbsent(token, key -> new HashMap<>()).merge(isbn, 1, Integer::sum);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void remove(String isbn) {
+		lock.writeLock().lock();
+		try {
+			removeUnlocked(isbn);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUnlocked(String isbn) {
+		List<String> tokens = documents.remove(isbn);
+		if (tokens == null) {
+			return;
+		}
+		for (String token : tokens) {
+			Map<String, Integer> termPosting = postings.get(token);
+			if (termPosting != null) {
+				termPosting.remove(isbn);
+				if (termPosting.isEmpty()) {
+					postings.remove(token);
+				}
+			}
+		}
+	}
+
+	private static List<String> tokenize(String text) {
+		if (text == null) {
+			return List.of();
+		}
+		return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+				.filter(token -> !token.isEmpty())
+				.toList();
+	}
+
+	private record ScoredIsbn(String isbn, double score) {
+	}
+}
@@ -0,0 +1,57 @@
+package com.ad.simpleLib.services.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.repositories.BookRepository;
+import com.ad.simpleLib.services.BookSearchService;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Title search backed by a Postgres GIN index over {@code to_tsvector('simple', title)}.
+ * The database keeps the index current on every write, so no change tracking is needed here.
+ */
+@Service
+@Timed("simplelib.service")
+@ConditionalOnProperty(name = "simplelib.search.engine", havingValue = "postgres")
+public class PostgresBookSearchService implements BookSearchService {
+
+	private BookRepository bookRepository;
+
+	private JdbcTemplate jdbcTemplate;
+
+	public PostgresBookSearchService(BookRepository bookRepository, JdbcTemplate jdbcTemplate) {
+		this.bookRepository = bookRepository;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void createIndex() {
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS books_title_fts_idx ON books"
+				+ " USING gin (to_tsvector('simple', coalesce(title, '')))");
+	}
+
+	@Override
+	public Page<BookEntity> search(String query, Pageable pageable) {
+		Page<String> isbns = bookRepository.searchIsbnsByTitle(query, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+		// Hits are loaded together with their authors, in rank order
+		Map<String, BookEntity> books = new HashMap<>();
+		bookRepository.findByIsbnIn(isbns.getContent()).forEach(book -> books.put(book.getIsbn(), book));
+		List<BookEntity> content = isbns.getContent().stream().map(books::get).filter(Objects::nonNull).toList();
+		return new PageImpl<>(content, isbns.getPageable(), isbns.getTotalElements());
+	}
+}
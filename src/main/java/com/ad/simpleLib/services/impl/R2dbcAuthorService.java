@@ -0,0 +1,62 @@
+package com.ad.simpleLib.services.impl;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.services.ReactiveAuthorService;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class R2dbcAuthorService implements ReactiveAuthorService {
+
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SELECT_AUTHORS = "SELECT a.id, a.name, a.age, a.version FROM authors a";
+
+	private DatabaseClient databaseClient;
+
+	public R2dbcAuthorService(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+
+	@Override
+	public Flux<AuthorEntity> findAll() {
+		return databaseClient.sql(SELECT_AUTHORS + " ORDER BY a.id")
+				.filter(statement -> statement.fetchSize(FETCH_SIZE))
+				.map(R2dbcAuthorService::toAuthor)
+				.all();
+	}
+
+	@Override
+	public Flux<AuthorEntity> findByAgeRange(int minAge, int maxAge) {
+		return databaseClient.sql(SELECT_AUTHORS + " WHERE a.age >= :minAge AND a.age <= :maxAge ORDER BY a.age, a.id")
+				.bind("minAge", minAge)
+				.bind("maxAge", maxAge)
+				.filter(statement -> statement.fetchSize(FETCH_SIZE))
+				.map(R2dbcAuthorService::toAuthor)
+				.all();
+	}
+
+	@Override
+	public Mono<AuthorEntity> findOne(Long id) {
+		return databaseClient.sql(SELECT_AUTHORS + " WHERE a.id = :id")
+				.bind("id", id)
+				.map(R2dbcAuthorService::toAuthor)
+				.one();
+	}
+
+	private static AuthorEntity toAuthor(Readable row) {
+		return AuthorEntity.builder()
+				.id(row.get("id", Long.class))
+				.name(row.get("name", String.class))
+				.age(row.get("age", Integer.class))
+				.version(row.get("version", Long.class))
+				.build();
+	}
+}
@@ -0,0 +1,75 @@
+package com.ad.simpleLib.services.impl;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.ReactiveBookService;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads books over R2DBC. Rows are fetched in chunks of {@link #FETCH_SIZE} as subscribers
+ * request them, so a slow client holds neither a thread nor the whole result.
+ */
+@Service
+@Profile("reactive")
+public class R2dbcBookService implements ReactiveBookService {
+
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SELECT_BOOKS = "SELECT b.isbn, b.title, b.version,"
+			+ " a.id AS author_id, a.name AS author_name, a.age AS author_age, a.version AS author_version"
+			+ " FROM books b LEFT JOIN authors a ON a.id = b.author_id";
+
+	private DatabaseClient databaseClient;
+
+	public R2dbcBookService(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+
+	@Override
+	public Flux<BookEntity> findAll() {
+		return databaseClient.sql(SELECT_BOOKS + " ORDER BY b.isbn")
+				.filter(statement -> statement.fetchSize(FETCH_SIZE))
+				.map(R2dbcBookService::toBook)
+				.all();
+	}
+
+	@Override
+	public Flux<BookEntity> findAllAfter(String isbn, int limit) {
+		return databaseClient.sql(SELECT_BOOKS + " WHERE b.isbn > :isbn ORDER BY b.isbn LIMIT :limit")
+				.bind("isbn", isbn == null ? "" : isbn)
+				.bind("limit", limit)
+				.map(R2dbcBookService::toBook)
+				.all();
+	}
+
+	@Override
+	public Mono<BookEntity> findOne(String isbn) {
+		return databaseClient.sql(SELECT_BOOKS + " WHERE b.isbn = :isbn")
+				.bind("isbn", isbn)
+				.map(R2dbcBookService::toBook)
+				.one();
+	}
+
+	private static BookEntity toBook(Readable row) {
+		Long authorId = row.get("author_id", Long.class);
+		AuthorEntity author = authorId == null ? null : AuthorEntity.builder()
+				.id(authorId)
+				.name(row.get("author_name", String.class))
+				.age(row.get("author_age", Integer.class))
+				.version(row.get("author_version", Long.class))
+				.build();
+		return BookEntity.builder()
+				.isbn(row.get("isbn", String.class))
+				.title(row.get("title", String.class))
+				.version(row.get("version", Long.class))
+				.authorEntity(author)
+				.build();
+	}
+}
@@ -0,0 +1,330 @@
+package com.ad.simpleLib.services.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookIngestService;
+import com.ad.simpleLib.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind queue for book upserts. Each accepted write is appended to an NDJSON journal
+ * before it is acknowledged, coalesced by isbn in memory and flushed in batches through
+ * {@link BookService#createUpdateBooks}. After every flush the journal is rewritten to hold only
+ * the writes still pending, and on startup it is replayed. When a batch fails its writes are
+ * retried one by one; a write that keeps failing is moved to a dead-letter file next to the journal.
+ */
+@Service
+@ConditionalOnProperty(name = "simplelib.ingest.async.enabled", havingValue = "true")
+public class WriteBehindBookIngestService implements BookIngestService {
+
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindBookIngestService.class);
+
+	private BookService bookService;
+
+	private ObjectMapper objectMapper;
+
+	private final Path journalPath;
+
+	private final Path deadLetterPath;
+
+	private final int capacity;
+
+	private final int batchSize;
+
+	private final long flushIntervalMillis;
+
+	private final boolean syncJournal;
+
+	private final int maxAttempts;
+
+	private final Map<String, JournalEntry> pending = new LinkedHashMap<>();
+
+	private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+	// Held while queued writes are being applied, so flushPending can wait for a batch in flight
+	private final Object flushLock = new Object();
+
+	private final Counter deadLettered;
+
+	private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("book-ingest-flusher").daemon().factory());
+
+	private FileChannel journal;
+
+	public WriteBehindBookIngestService(BookService bookService, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+			@Value("${simplelib.ingest.async.journal:data/book-ingest.ndjson}") Path journalPath,
+			@Value("${simplelib.ingest.async.capacity:10000}") int capacity,
+			@Value("${simplelib.ingest.async.batch-size:500}") int batchSize,
+			@Value("${simplelib.ingest.async.flush-interval-ms:200}") long flushIntervalMillis,
+			@Value("${simplelib.ingest.async.journal-sync:true}") boolean syncJournal,
+			@Value("${simplelib.ingest.async.max-attempts:5}") int maxAttempts) throws IOException {
+		this.bookService = bookService;
+		this.objectMapper = objectMapper;
+		this.journalPath = journalPath.toAbsolutePath();
+		this.deadLetterPath = this.journalPath.resolveSibling(this.journalPath.getFileName() + ".dead");
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.syncJournal = syncJournal;
+		this.maxAttempts = maxAttempts;
+		Files.createDirectories(this.journalPath.getParent());
+		replayJournal();
+		this.journal = openJournal();
+		meterRegistry.gauge("simplelib.ingest.pending", this, WriteBehindBookIngestService::pendingCount);
+		this.deadLettered = meterRegistry.counter("simplelib.ingest.dead-lettered");
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		flusher.scheduleWithFixedDelay(() -> {
+			try {
+				flush();
+			} catch (RuntimeException e) {
+				// An exception escaping here would cancel every later flush
+				log.error("Book ingest flush failed", e);
+			}
+		}, 0, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public boolean offer(String isbn, BookEntity book) {
+		JournalEntry entry = JournalEntry.of(isbn, book);
+		synchronized (pending) {
+			if (pending.size() >= capacity && !pending.containsKey(isbn)) {
+				return false;
+			}
+			append(entry);
+			pending.put(isbn, entry);
+		}
+		failedAttempts.remove(isbn);
+		return true;
+	}
+
+	@Override
+	public void flushPending(Collection<String> isbns) {
+		synchronized (flushLock) {
+			List<JournalEntry> batch = new ArrayList<>();
+			synchronized (pending) {
+				for (String isbn : isbns) {
+					JournalEntry entry = pending.remove(isbn);
+					if (entry != null) {
+						batch.add(entry);
+					}
+				}
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			write(batch, false);
+			synchronized (pending) {
+				compactJournal();
+			}
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws IOException {
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+		synchronized (pending) {
+			journal.close();
+		}
+	}
+
+	void flush() {
+		while (true) {
+			synchronized (flushLock) {
+				List<JournalEntry> batch = new ArrayList<>(batchSize);
+				synchronized (pending) {
+					Iterator<JournalEntry> entries = pending.values().iterator();
+					while (entries.hasNext() && batch.size() < batchSize) {
+						batch.add(entries.next());
+						entries.remove();
+					}
+				}
+				if (batch.isEmpty()) {
+					return;
+				}
+				boolean written = write(batch, true);
+				synchronized (pending) {
+					compactJournal();
+				}
+				if (!written) {
+					// Failed writes were queued again; leave them for the next tick
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies the batch, falling back to one write per entry when it fails. Returns false when
+	 * any entry failed.
+	 */
+	private boolean write(List<JournalEntry> batch, boolean retryFailures) {
+		try {
+			bookService.createUpdateBooks(batch.stream().map(JournalEntry::toEntity).toList());
+			batch.forEach(entry -> failedAttempts.remove(entry.isbn()));
+			return true;
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				failed(batch.get(0), e, retryFailures);
+				return false;
+			}
+			log.warn("Flushing {} queued book writes failed, retrying them one by one", batch.size());
+		}
+		// One bad row must not hold back the rest of its batch
+		boolean written = true;
+		for (JournalEntry entry : batch) {
+			try {
+				bookService.createUpdateBooks(List.of(entry.toEntity()));
+				failedAttempts.remove(entry.isbn());
+			} catch (RuntimeException e) {
+				failed(entry, e, retryFailures);
+				written = false;
+			}
+		}
+		return written;
+	}
+
+	private void failed(JournalEntry entry, RuntimeException cause, boolean retry) {
+		int attempts = failedAttempts.merge(entry.isbn(), 1, Integer::sum);
+		if (retry && attempts < maxAttempts) {
+			log.warn("Queued write for book {} failed (attempt {} of {}): {}", entry.isbn(), attempts, maxAttempts, cause.toString());
+			synchronized (pending) {
+				// A newer write for the same isbn queued meanwhile wins over the failed one
+				pending.putIfAbsent(entry.isbn(), entry);
+			}
+			return;
+		}
+		failedAttempts.remove(entry.isbn());
+		deadLettered.increment();
+		log.error("Moving queued write for book {} to {} after {} failed attempts", entry.isbn(), deadLetterPath, attempts, cause);
+		try {
+			Files.writeString(deadLetterPath, objectMapper.writeValueAsString(entry) + "\n", StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private int pendingCount() {
+		synchronized (pending) {
+			return pending.size();
+		}
+	}
+
+	private void append(JournalEntry entry) {
+		try {
+			byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+			ByteBuffer buffer = ByteBuffer.wrap(line);
+			while (buffer.hasRemaining()) {
+				journal.write(buffer);
+			}
+			if (syncJournal) {
+				journal.force(false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void compactJournal() {
+		try {
+			Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+			try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				for (JournalEntry entry : pending.values()) {
+					channel.write(ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8)));
+				}
+				channel.force(true);
+			}
+			journal.close();
+			Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			journal = openJournal();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void replayJournal() throws IOException {
+		if (!Files.exists(journalPath)) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+					pending.put(entry.isbn(), entry);
+				} catch (IOException e) {
+					// A torn last line means the write was never acknowledged
+					log.warn("Skipping unreadable book ingest journal line");
+				}
+			}
+		}
+		log.info("Replaying {} queued book writes from {}", pending.size(), journalPath);
+	}
+
+	private FileChannel openJournal() throws IOException {
+		return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	record JournalEntry(String isbn, String title, Long authorId, String authorName, Integer authorAge) {
+
+		static JournalEntry of(String isbn, BookEntity book) {
+			AuthorEntity author = book.getAuthorEntity();
+			return author == null
+					? new JournalEntry(isbn, book.getTitle(), null, null, null)
+					: new JournalEntry(isbn, book.getTitle(), author.getId(), author.getName(), author.getAge());
+		}
+
+		BookEntity toEntity() {
+			AuthorEntity author = authorId == null && authorName == null && authorAge == null
+					? null
+					: AuthorEntity.builder().id(authorId).name(authorName).age(authorAge).build();
+			return BookEntity.builder().isbn(isbn).title(title).authorEntity(author).build();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.services.AuthorService;
+
+/**
+ * Cost of one page of an author age-range query as the table grows. With the
+ * (age, id) index the cost should stay roughly flat instead of growing with the table.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=AuthorAgeRangeBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorAgeRangeBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+
+    private AuthorService authorService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        authorService = context.getBean(AuthorService.class);
+
+        List<AuthorEntity> authors = new ArrayList<>(10_000);
+        for (int i = 0; i < tableSize; i++) {
+            authors.add(AuthorEntity.builder().name("Author " + i).age(i % 100).build());
+            if (authors.size() == 10_000) {
+                authorService.saveAll(authors);
+                authors = new ArrayList<>(10_000);
+            }
+        }
+        authorService.saveAll(authors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AuthorEntity> firstPageOfRange() {
+        int minAge = ThreadLocalRandom.current().nextInt(90);
+        return authorService.findByAgeRange(minAge, minAge + 10, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AuthorEntity> deepPageOfRange() {
+        int age = ThreadLocalRandom.current().nextInt(90);
+        long afterId = ThreadLocalRandom.current().nextLong(tableSize);
+        return authorService.findByAgeRange(age, age + 10, age, afterId, PAGE_SIZE);
+    }
+}
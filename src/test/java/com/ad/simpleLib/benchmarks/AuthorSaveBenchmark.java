@@ -0,0 +1,89 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.PooledSequenceGenerator;
+import com.ad.simpleLib.services.AuthorService;
+
+/**
+ * Insert throughput of {@link AuthorService} against embedded H2 for different
+ * id block sizes. An increment size of 1 is the old one-sequence-call-per-row setup.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=AuthorSaveBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorSaveBenchmark {
+
+    private static final int AUTHORS_PER_INVOCATION = 1000;
+
+    @Param({ "1", "50" })
+    private int incrementSize;
+
+    private ConfigurableApplicationContext context;
+
+    private AuthorService authorService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties." + PooledSequenceGenerator.INCREMENT_SIZE_SETTING + "=" + incrementSize)
+                .run();
+        authorService = context.getBean(AuthorService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AUTHORS_PER_INVOCATION)
+    public void save() {
+        for (int i = 0; i < AUTHORS_PER_INVOCATION; i++) {
+            authorService.save(newAuthor(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AUTHORS_PER_INVOCATION)
+    public void saveAll() {
+        List<AuthorEntity> authors = new ArrayList<>(AUTHORS_PER_INVOCATION);
+        for (int i = 0; i < AUTHORS_PER_INVOCATION; i++) {
+            authors.add(newAuthor(i));
+        }
+        authorService.saveAll(authors);
+    }
+
+    private static AuthorEntity newAuthor(int i) {
+        return AuthorEntity.builder()
+                .name("Author " + i)
+                .age(20 + i % 60)
+                .build();
+    }
+}
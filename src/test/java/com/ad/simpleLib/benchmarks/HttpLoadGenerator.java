@@ -0,0 +1,95 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator: a fixed number of virtual-thread clients
+ * issue GET requests against the given targets back to back and record latencies.
+ */
+public class HttpLoadGenerator {
+
+    public record LoadReport(String name, long requests, long errors, double seconds,
+            double p50Millis, double p99Millis, double maxMillis) {
+
+        public double throughput() {
+            return requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d/%d",
+                    name, throughput(), p50Millis, p99Millis, maxMillis, errors, requests);
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadReport run(String name, List<URI> targets, int concurrency, Duration duration) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        long[] errors = new long[concurrency];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    int next = worker;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(targets.get(next++ % targets.size()))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors[worker]++;
+                            }
+                        } catch (Exception e) {
+                            errors[worker]++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = workers.stream().flatMapToLong(future -> {
+            try {
+                return Arrays.stream(future.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().toArray();
+        if (all.length == 0) {
+            return new LoadReport(name, 0, Arrays.stream(errors).sum(), seconds, 0, 0, 0);
+        }
+        return new LoadReport(name, all.length, Arrays.stream(errors).sum(), seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
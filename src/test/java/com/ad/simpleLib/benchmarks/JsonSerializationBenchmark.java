@@ -0,0 +1,71 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ad.simpleLib.domain.dto.AuthorDto;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of writing the list responses of GET /books and GET /authors.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=JsonSerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({ "20", "200" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<BookDto> bookPage;
+
+    private List<AuthorDto> authors;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<BookDto> books = new ArrayList<>(pageSize);
+        authors = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            AuthorDto author = AuthorDto.builder().id((long) i).name("Author " + i).age(20 + i % 60).build();
+            authors.add(author);
+            books.add(BookDto.builder().isbn(String.format("978-0-0000-%04d-0", i)).title("Title " + i).author(author).build());
+        }
+        bookPage = new PageImpl<>(books, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] bookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+
+    @Benchmark
+    public byte[] authorList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+}
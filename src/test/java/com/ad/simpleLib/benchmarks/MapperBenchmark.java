@@ -0,0 +1,73 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.mappers.impl.AuthorMapperImpl;
+import com.ad.simpleLib.mappers.impl.BookMapper;
+
+/**
+ * Compares the hand-written mappers against the reflective ModelMapper
+ * configuration they replaced.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=MapperBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private BookMapper bookMapper;
+
+    private BookEntity bookEntity;
+
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+        bookMapper = new BookMapper(new AuthorMapperImpl());
+        bookEntity = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookDto = TestDataUtil.createTestBookDtoA(TestDataUtil.createTestAuthorDtoA());
+    }
+
+    @Benchmark
+    public BookDto modelMapperMapTo() {
+        return modelMapper.map(bookEntity, BookDto.class);
+    }
+
+    @Benchmark
+    public BookDto bookMapperMapTo() {
+        return bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public BookEntity modelMapperMapFrom() {
+        return modelMapper.map(bookDto, BookEntity.class);
+    }
+
+    @Benchmark
+    public BookEntity bookMapperMapFrom() {
+        return bookMapper.mapFrom(bookDto);
+    }
+}
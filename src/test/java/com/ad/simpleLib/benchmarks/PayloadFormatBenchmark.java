@@ -0,0 +1,81 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ad.simpleLib.domain.dto.AuthorDto;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialization CPU of a GET /books page per negotiated format, with and without gzip.
+ * The encoded size of each combination is printed once per trial.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=PayloadFormatBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    @Param({ "20", "200" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<BookDto> bookPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<BookDto> books = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            AuthorDto author = AuthorDto.builder().id((long) i).name("Author " + i).age(20 + i % 60).build();
+            books.add(BookDto.builder().isbn(String.format("978-0-0000-%04d-0", i)).title("Title " + i).author(author).build());
+        }
+        bookPage = new PageImpl<>(books, PageRequest.of(0, pageSize), pageSize * 10L);
+        System.out.printf("%n%s%s page of %d books: %d bytes%n", format, gzip ? "+gzip" : "", pageSize, bookPage().length);
+    }
+
+    @Benchmark
+    public byte[] bookPage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, bookPage);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.BookService;
+
+/**
+ * Compares the default datasource settings with the {@code perf} profile against a real Postgres:
+ * the time to seed through the batched write paths, then read throughput and latency on
+ * /books and /authors driven by {@link HttpLoadGenerator}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ad.simpleLib.benchmarks.PerfProfileLoadTest -Dexec.args="200 30"
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/simplelib
+ * -Dspring.datasource.username=simplelib -Dspring.datasource.password=simplelib}
+ * where the arguments are the number of concurrent clients and the measured seconds.
+ * Point it at a throwaway database: the schema is recreated for every profile.
+ */
+public class PerfProfileLoadTest {
+
+    private static final int AUTHORS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        List<String> results = new ArrayList<>();
+        for (String profile : List.of("default", "perf")) {
+            results.addAll(run(profile, concurrency, duration));
+        }
+        results.forEach(System.out::println);
+    }
+
+    static List<String> run(String profile, int concurrency, Duration duration) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .profiles(profile)
+                .properties("server.port=0", "spring.jpa.hibernate.ddl-auto=create-drop")
+                .run()) {
+            List<String> results = new ArrayList<>();
+
+            long start = System.nanoTime();
+            WebTierLoadTest.seed(context.getBean(BookService.class));
+            results.add(String.format("%-24s seed books   %8.1f ms", profile, (System.nanoTime() - start) / 1e6));
+
+            List<AuthorEntity> authors = new ArrayList<>(AUTHORS);
+            for (int i = 0; i < AUTHORS; i++) {
+                authors.add(AuthorEntity.builder().name("Bulk author " + i).age(18 + i % 70).build());
+            }
+            start = System.nanoTime();
+            context.getBean(AuthorService.class).saveAll(authors);
+            results.add(String.format("%-24s seed authors %8.1f ms", profile, (System.nanoTime() - start) / 1e6));
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> targets = new ArrayList<>(WebTierLoadTest.targets(baseUrl));
+            for (int age = 18; age < 88; age += 5) {
+                targets.add(URI.create(baseUrl + "/authors/by-age?min=" + age + "&max=" + (age + 4) + "&size=50"));
+                targets.add(URI.create(baseUrl + "/authors/" + (age * 100)));
+            }
+
+            HttpLoadGenerator generator = new HttpLoadGenerator();
+            generator.run(profile + " (warm-up)", targets, concurrency, Duration.ofSeconds(5));
+            results.add(generator.run(profile + " x" + concurrency, targets, concurrency, duration).toString());
+            return results;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.services.BookService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.pool.ConnectionPool;
+
+/**
+ * Drives the same book lookups through the servlet/JDBC endpoints and the {@code /reactive}
+ * R2DBC endpoints of one application started with the {@code reactive} profile. While each run
+ * is in flight it samples live threads, used heap and busy database connections, and prints the
+ * peaks next to throughput and latency.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ad.simpleLib.benchmarks.ReactiveLoadTest -Dexec.args="1000 30"
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/simplelib
+ * -Dspring.r2dbc.url=r2dbc:postgresql://localhost:5432/simplelib
+ * -Dspring.datasource.username=simplelib -Dspring.datasource.password=simplelib
+ * -Dspring.r2dbc.username=simplelib -Dspring.r2dbc.password=simplelib}
+ * against a throwaway database.
+ */
+public class ReactiveLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .profiles("reactive")
+                .properties("server.port=0", "spring.jpa.hibernate.ddl-auto=create-drop")
+                .run()) {
+            WebTierLoadTest.seed(context.getBean(BookService.class));
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HikariDataSource jdbcPool = context.getBean(HikariDataSource.class);
+            ConnectionPool r2dbcPool = context.getBean(ConnectionPool.class);
+
+            List<String> results = new ArrayList<>();
+            results.add(run("servlet", targets(baseUrl + "/books/"), concurrency, duration,
+                    () -> jdbcPool.getHikariPoolMXBean().getActiveConnections()));
+            results.add(run("reactive", targets(baseUrl + "/reactive/books/"), concurrency, duration,
+                    () -> r2dbcPool.getMetrics().map(metrics -> (long) metrics.acquiredSize()).orElse(-1L)));
+            results.forEach(System.out::println);
+        }
+    }
+
+    static String run(String name, List<URI> targets, int concurrency, Duration duration, LongSupplier busyConnections)
+            throws Exception {
+        HttpLoadGenerator generator = new HttpLoadGenerator();
+        generator.run(name + " (warm-up)", targets, concurrency, Duration.ofSeconds(5));
+        System.gc();
+        long baselineHeap = usedHeap();
+
+        AtomicLong peakThreads = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicLong peakConnections = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+            peakHeap.accumulateAndGet(usedHeap(), Math::max);
+            peakConnections.accumulateAndGet(busyConnections.getAsLong(), Math::max);
+        }, 0, 50, TimeUnit.MILLISECONDS);
+        HttpLoadGenerator.LoadReport report;
+        try {
+            report = generator.run(name + " x" + concurrency, targets, concurrency, duration);
+        } finally {
+            sampler.shutdownNow();
+        }
+        // The load generator runs in this JVM too; its share is the same for both stacks
+        return String.format("%s%n%-24s peak threads %d  peak busy connections %d  heap per in-flight request %.1f KiB",
+                report, name, peakThreads.get(), peakConnections.get(),
+                (peakHeap.get() - baselineHeap) / 1024.0 / concurrency);
+    }
+
+    static List<URI> targets(String bookUrl) {
+        List<URI> targets = new ArrayList<>();
+        for (int i = 0; i < WebTierLoadTest.BOOKS; i += 10) {
+            targets.add(URI.create(bookUrl + WebTierLoadTest.isbn(i)));
+        }
+        return targets;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.mappers.Mapper;
+import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.BookService;
+
+/**
+ * Service and mapper hot paths of the book and author endpoints against the
+ * embedded H2 database from the test configuration.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark.includes=ServiceCrudBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceCrudBenchmark {
+
+    @Param({ "10000" })
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private AuthorService authorService;
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private List<AuthorEntity> authors;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        bookService = context.getBean(BookService.class);
+        authorService = context.getBean(AuthorService.class);
+        bookMapper = context.getBean("bookMapper", Mapper.class);
+
+        List<AuthorEntity> newAuthors = new ArrayList<>();
+        for (int i = 0; i < catalogSize / 10; i++) {
+            newAuthors.add(AuthorEntity.builder().name("Author " + i).age(20 + i % 60).build());
+        }
+        authors = authorService.saveAll(newAuthors).stream().map(result -> result.getEntity()).toList();
+
+        List<BookEntity> books = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            books.add(BookEntity.builder()
+                    .isbn(isbn(i))
+                    .title("Title " + i)
+                    .authorEntity(authors.get(i % authors.size()))
+                    .build());
+        }
+        bookService.createUpdateBooks(books);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookDto findOneBook() {
+        return bookService.findOne(isbn(ThreadLocalRandom.current().nextInt(catalogSize)))
+                .map(bookMapper::mapTo)
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public List<BookDto> findBookPage() {
+        int page = ThreadLocalRandom.current().nextInt(catalogSize / 20);
+        Page<BookEntity> books = bookService.findAll(PageRequest.of(page, 20));
+        return books.map(bookMapper::mapTo).getContent();
+    }
+
+    @Benchmark
+    public BookEntity partialUpdateBook() {
+        BookEntity patch = BookEntity.builder().title("Patched " + System.nanoTime()).build();
+        return bookService.partialUpdate(isbn(ThreadLocalRandom.current().nextInt(catalogSize)), patch, null).orElseThrow();
+    }
+
+    @Benchmark
+    public void createAndDeleteBook() {
+        String isbn = "bench-" + System.nanoTime();
+        bookService.upsert(isbn, BookEntity.builder().title("Transient").build(), null);
+        bookService.delete(isbn);
+    }
+
+    @Benchmark
+    public AuthorEntity findOneAuthor() {
+        return authorService.findOne(authors.get(ThreadLocalRandom.current().nextInt(authors.size())).getId())
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public AuthorEntity partialUpdateAuthor() {
+        AuthorEntity author = authors.get(ThreadLocalRandom.current().nextInt(authors.size()));
+        AuthorEntity patch = AuthorEntity.builder().age(20 + ThreadLocalRandom.current().nextInt(60)).build();
+        return authorService.partialUpdate(author.getId(), patch, null).orElseThrow();
+    }
+
+    private static String isbn(int i) {
+        return String.format("978-1-%08d-0", i);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ad.simpleLib.benchmarks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ad.simpleLib.SimpleLibApplication;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookService;
+
+/**
+ * Boots the application once per request-execution mode (platform threads, then the
+ * {@code virtual} profile), seeds a catalog and drives the read endpoints with
+ * {@link HttpLoadGenerator}, printing throughput and latency percentiles per mode.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ad.simpleLib.benchmarks.WebTierLoadTest -Dexec.args="500 30"}
+ * where the arguments are the number of concurrent clients and the measured seconds.
+ */
+public class WebTierLoadTest {
+
+    static final int BOOKS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        List<HttpLoadGenerator.LoadReport> reports = new ArrayList<>();
+        for (String profile : List.of("default", "virtual")) {
+            reports.add(run(profile, concurrency, duration));
+        }
+        reports.forEach(System.out::println);
+    }
+
+    static HttpLoadGenerator.LoadReport run(String profile, int concurrency, Duration duration) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleLibApplication.class)
+                .profiles(profile)
+                .properties("server.port=0")
+                .run()) {
+            seed(context.getBean(BookService.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> targets = targets("http://localhost:" + port);
+
+            HttpLoadGenerator generator = new HttpLoadGenerator();
+            generator.run(profile + " (warm-up)", targets, concurrency, Duration.ofSeconds(5));
+            return generator.run(profile + " x" + concurrency, targets, concurrency, duration);
+        }
+    }
+
+    static void seed(BookService bookService) {
+        List<BookEntity> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            AuthorEntity author = AuthorEntity.builder().name("Author " + i).age(20 + i % 60).build();
+            books.add(BookEntity.builder().isbn(isbn(i)).title("Title " + i).authorEntity(author).build());
+        }
+        bookService.createUpdateBooks(books);
+    }
+
+    static List<URI> targets(String baseUrl) {
+        List<URI> targets = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i += 10) {
+            targets.add(URI.create(baseUrl + "/books/" + isbn(i)));
+            targets.add(URI.create(baseUrl + "/books?page=" + (i / 20) + "&size=20"));
+        }
+        return targets;
+    }
+
+    static String isbn(int i) {
+        return String.format("978-2-%08d-0", i);
+    }
+}
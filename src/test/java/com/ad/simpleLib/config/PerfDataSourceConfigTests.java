@@ -0,0 +1,58 @@
+package com.ad.simpleLib.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class PerfDataSourceConfigTests {
+
+	private static final int CORE_SIZED_POOL = Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+	@Test
+	public void testThatPoolsWithoutTheirOwnMaximumPoolSizeAreSizedFromTheCores() {
+		BeanPostProcessor corePoolSizer = PerfDataSourceConfig.corePoolSizer(new MockEnvironment());
+
+		HikariDataSource writerDataSource = sized(corePoolSizer, "writerDataSource", new HikariDataSource());
+		HikariDataSource replicaDataSource = sized(corePoolSizer, "replicaDataSource", new HikariDataSource());
+
+		assertThat(writerDataSource.getMaximumPoolSize()).isEqualTo(CORE_SIZED_POOL);
+		assertThat(writerDataSource.getMinimumIdle()).isEqualTo(CORE_SIZED_POOL);
+		assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(CORE_SIZED_POOL);
+	}
+
+	@Test
+	public void testThatTheReplicaPoolKeepsItsOwnMaximumPoolSize() {
+		BeanPostProcessor corePoolSizer = PerfDataSourceConfig.corePoolSizer(new MockEnvironment()
+				.withProperty("simplelib.datasource.replica.maximum-pool-size", "3"));
+		HikariDataSource replica = new HikariDataSource();
+		replica.setMaximumPoolSize(3);
+
+		HikariDataSource writerDataSource = sized(corePoolSizer, "writerDataSource", new HikariDataSource());
+		HikariDataSource replicaDataSource = sized(corePoolSizer, "replicaDataSource", replica);
+
+		assertThat(writerDataSource.getMaximumPoolSize()).isEqualTo(CORE_SIZED_POOL);
+		assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(3);
+	}
+
+	@Test
+	public void testThatThePrimaryMaximumPoolSizeDoesNotPinTheReplica() {
+		BeanPostProcessor corePoolSizer = PerfDataSourceConfig.corePoolSizer(new MockEnvironment()
+				.withProperty("spring.datasource.hikari.maximum-pool-size", "7"));
+		HikariDataSource writer = new HikariDataSource();
+		writer.setMaximumPoolSize(7);
+
+		HikariDataSource writerDataSource = sized(corePoolSizer, "writerDataSource", writer);
+		HikariDataSource replicaDataSource = sized(corePoolSizer, "replicaDataSource", new HikariDataSource());
+
+		assertThat(writerDataSource.getMaximumPoolSize()).isEqualTo(7);
+		assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(CORE_SIZED_POOL);
+	}
+
+	private static HikariDataSource sized(BeanPostProcessor corePoolSizer, String beanName, HikariDataSource dataSource) {
+		return (HikariDataSource) corePoolSizer.postProcessAfterInitialization(dataSource, beanName);
+	}
+}
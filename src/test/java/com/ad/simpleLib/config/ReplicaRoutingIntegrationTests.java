@@ -0,0 +1,65 @@
+package com.ad.simpleLib.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookService;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Both pools point at the same in-memory database, so the replica sees every write immediately
+@SpringBootTest(properties = {
+		"simplelib.datasource.replica.jdbc-url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"simplelib.datasource.replica.pool-name=replica"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReplicaRoutingIntegrationTests {
+
+	private BookService bookService;
+	private PlatformTransactionManager transactionManager;
+	private HikariDataSource writerDataSource;
+	private HikariDataSource replicaDataSource;
+
+	@Autowired
+	public ReplicaRoutingIntegrationTests(BookService bookService, PlatformTransactionManager transactionManager,
+			@Qualifier("writerDataSource") HikariDataSource writerDataSource,
+			@Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+		this.bookService = bookService;
+		this.transactionManager = transactionManager;
+		this.writerDataSource = writerDataSource;
+		this.replicaDataSource = replicaDataSource;
+	}
+
+	@Test
+	public void testThatReadOnlyTransactionsUseTheReplicaPool() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(status -> {
+			bookService.findAll();
+			assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+			assertThat(writerDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+		});
+	}
+
+	@Test
+	public void testThatWritesUseTheWriterPoolAndReadsSeeThem() {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+		readWrite.executeWithoutResult(status -> {
+			bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+			bookService.isExists(testBookEntityA.getIsbn());
+			assertThat(writerDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+			assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+		});
+
+		assertThat(bookService.findOne(testBookEntityA.getIsbn())).isPresent();
+	}
+}
@@ -1,19 +1,28 @@
 package com.ad.simpleLib.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.ad.simpleLib.TestDataUtil;
 import com.ad.simpleLib.domain.dto.AuthorDto;
 import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
 import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -23,14 +32,18 @@ public class AuthorControllerIntegrationTests {
 	
 	private AuthorService authorService;
 
+	private BookService bookService;
+
 	private MockMvc mockMvc;
 	
 	private ObjectMapper objectMapper;
 	
 	@Autowired
-	public AuthorControllerIntegrationTests(AuthorService authorService, MockMvc mockMvc, ObjectMapper objectMapper) {
+	public AuthorControllerIntegrationTests(AuthorService authorService, BookService bookService, MockMvc mockMvc,
+			ObjectMapper objectMapper) {
 		super();
 		this.authorService = authorService;
+		this.bookService = bookService;
 		this.mockMvc = mockMvc;
 		this.objectMapper = objectMapper;
 	}
@@ -62,6 +75,30 @@ public class AuthorControllerIntegrationTests {
 				).andExpect(MockMvcResultMatchers.jsonPath("$.age").value(80));
 	}
 	
+	@Test
+	public void testThatBatchCreateUpdateAuthorsReportsPerItemStatus() throws Exception {
+		AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+		AuthorDto updatedAuthor = TestDataUtil.createTestAuthorDtoA();
+		updatedAuthor.setId(savedAuthor.getId());
+		updatedAuthor.setName("UPDATED");
+		AuthorDto newAuthor = AuthorDto.builder().name("Konan").age(44).build();
+		String batchJson = objectMapper.writeValueAsString(List.of(updatedAuthor, newAuthor));
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/authors/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(batchJson)
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].id").value(savedAuthor.getId())
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].status").value("UPDATED")
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[1].id").isNumber()
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[1].status").value("CREATED")
+				);
+	}
+	
 	@Test
 	public void testThatListAuthorsReturnsHttpStatus200() throws Exception {
 		mockMvc.perform(
@@ -83,6 +120,45 @@ public class AuthorControllerIntegrationTests {
 				).andExpect(MockMvcResultMatchers.jsonPath("$[0].age").value(80));
 	}
 	
+	@Test
+	public void testThatStreamAuthorsReturnsNdjsonLines() throws Exception {
+		AuthorEntity savedAuthorA = authorService.save(TestDataUtil.createTestAuthorEntityA());
+		AuthorEntity savedAuthorB = authorService.save(TestDataUtil.createTestAuthorB());
+		MvcResult result = mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors")
+					.accept(MediaType.APPLICATION_NDJSON)
+				).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andExpect(MockMvcResultMatchers.content().string(
+						"{\"id\":" + savedAuthorA.getId() + ",\"name\":\"Agatha Christie\",\"age\":80}\n"
+						+ "{\"id\":" + savedAuthorB.getId() + ",\"name\":\"Konan\",\"age\":44}\n"));
+	}
+	
+	@Test
+	public void testThatListAuthorsByAgePagesThroughRangeInAgeOrder() throws Exception {
+		authorService.save(TestDataUtil.createTestAuthorEntityA());
+		authorService.save(TestDataUtil.createTestAuthorB());
+		authorService.save(TestDataUtil.createTestAuthorC());
+
+		MvcResult firstPage = mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors/by-age?min=20&max=50&size=1")
+					.contentType(MediaType.APPLICATION_JSON)
+				).andExpect(MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(1))
+				).andExpect(MockMvcResultMatchers.jsonPath("$.content[0].age").value(24)
+				).andExpect(MockMvcResultMatchers.jsonPath("$.next").isString()
+				).andReturn();
+		String next = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("next").asText();
+
+		mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors/by-age?min=20&max=50&size=1&cursor=" + next)
+					.contentType(MediaType.APPLICATION_JSON)
+				).andExpect(MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(1))
+				).andExpect(MockMvcResultMatchers.jsonPath("$.content[0].age").value(44)
+				).andExpect(MockMvcResultMatchers.jsonPath("$.next").doesNotExist());
+	}
+	
 	@Test
 	public void testThatGetAuthorReturnsHttpStatus200WhenAuthorExists() throws Exception {
 		AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorEntityA();
@@ -110,6 +186,27 @@ public class AuthorControllerIntegrationTests {
         );
     }
 	
+	@Test
+	public void testThatGetAuthorWritesOnlyRequestedFields() throws Exception {
+		AuthorEntity savedAuthorEntity = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+		mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors/" + savedAuthorEntity.getId() + "?fields=name")
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$.name").value("Agatha Christie")
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$.age").doesNotExist()
+				);
+
+		mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors?fields=id,age")
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].age").value(80)
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].name").doesNotExist()
+				);
+	}
+	
 	@Test
 	public void testThatGetAuthorReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
 		AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorEntityA();
@@ -120,6 +217,38 @@ public class AuthorControllerIntegrationTests {
 				).andExpect(MockMvcResultMatchers.status().isNotFound());
 	}
 	
+	@Test
+	public void testThatGetAuthorReturnsHttpStatus304UntilAuthorChanges() throws Exception {
+		AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorEntityA();
+		AuthorEntity savedAuthor = authorService.save(testAuthorEntityA);
+		mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+					.header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+				).andExpect(MockMvcResultMatchers.status().isNotModified());
+		
+		AuthorDto patch = AuthorDto.builder().age(81).build();
+		mockMvc.perform(
+				MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(patch))
+					.header(HttpHeaders.IF_MATCH, "\"0\"")
+				).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\""));
+		
+		mockMvc.perform(
+				MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+					.header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+				).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.age").value(81));
+		
+		mockMvc.perform(
+				MockMvcRequestBuilders.put("/authors/" + savedAuthor.getId())
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(TestDataUtil.createTestAuthorDtoA()))
+					.header(HttpHeaders.IF_MATCH, "\"0\"")
+				).andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+	}
+	
 	@Test
 	public void testThatFullUpdateAuthorReturnsHttpStatus404WhenNoAuthorExists() throws Exception {
 		AuthorDto testAuthorDtoA = TestDataUtil.createTestAuthorDtoA();
@@ -225,6 +354,25 @@ public class AuthorControllerIntegrationTests {
     			.contentType(MediaType.APPLICATION_JSON)
     	).andExpect(MockMvcResultMatchers.status().isNoContent());
     }
-	
-	
+    
+    @Test
+    public void testThatBatchDeleteAuthorsDetachesTheirBooks() throws Exception {
+    	BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+    	BookEntity savedBook = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+    	AuthorEntity otherAuthor = authorService.save(TestDataUtil.createTestAuthorB());
+    	
+    	mockMvc.perform(
+    			MockMvcRequestBuilders.post("/authors/batch-delete")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content(objectMapper.writeValueAsString(List.of(savedBook.getAuthorEntity().getId(), otherAuthor.getId())))
+    	).andExpect(MockMvcResultMatchers.status().isOk())
+    	.andExpect(MockMvcResultMatchers.jsonPath("$.deleted").value(2))
+    	.andExpect(MockMvcResultMatchers.jsonPath("$.booksDetached").value(1));
+    	
+    	mockMvc.perform(
+    			MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn())
+    	).andExpect(MockMvcResultMatchers.status().isOk())
+    	.andExpect(MockMvcResultMatchers.jsonPath("$.author").isEmpty());
+    	assertThat(authorService.findAll()).isEmpty();
+    }
 }
@@ -0,0 +1,92 @@
+package com.ad.simpleLib.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+		"simplelib.ingest.async.enabled=true",
+		"simplelib.ingest.async.journal=" + BookAsyncIngestIntegrationTests.JOURNAL,
+		"simplelib.ingest.async.flush-interval-ms=50"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookAsyncIngestIntegrationTests {
+
+	static final String JOURNAL = "target/ingest/book-ingest-test.ndjson";
+
+	private BookService bookService;
+	private MockMvc mockMvc;
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	public BookAsyncIngestIntegrationTests(BookService bookService, MockMvc mockMvc, ObjectMapper objectMapper) {
+		this.bookService = bookService;
+		this.mockMvc = mockMvc;
+		this.objectMapper = objectMapper;
+	}
+
+	@BeforeAll
+	static void seedJournal() throws IOException {
+		Files.createDirectories(Path.of(JOURNAL).getParent());
+		// A write acknowledged before the previous shutdown, never flushed
+		Files.write(Path.of(JOURNAL), List.of(
+				"{\"isbn\":\"978-1-2345-6789-9\",\"title\":\"Journaled\",\"authorId\":null,\"authorName\":null,\"authorAge\":null}"));
+	}
+
+	@Test
+	public void testThatAsyncPutsAreAcceptedCoalescedAndFlushedAndTheJournalIsReplayed() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		for (String title : List.of("First", "Second", "Last")) {
+			testBookA.setTitle(title);
+			mockMvc.perform(MockMvcRequestBuilders.put("/books/" + testBookA.getIsbn())
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(testBookA))
+					.header("Prefer", "respond-async")
+				).andExpect(MockMvcResultMatchers.status().isAccepted())
+				.andExpect(MockMvcResultMatchers.header().string("Preference-Applied", "respond-async"));
+		}
+
+		Optional<BookEntity> flushed = awaitBook(testBookA.getIsbn(), "Last");
+		assertThat(flushed).isPresent();
+		assertThat(awaitBook("978-1-2345-6789-9", "Journaled")).isPresent();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!Files.readAllLines(Path.of(JOURNAL)).isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(Files.readAllLines(Path.of(JOURNAL))).isEmpty();
+	}
+
+	private Optional<BookEntity> awaitBook(String isbn, String title) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			Optional<BookEntity> book = bookService.findOne(isbn).filter(found -> title.equals(found.getTitle()));
+			if (book.isPresent()) {
+				return book;
+			}
+			Thread.sleep(50);
+		}
+		return Optional.empty();
+	}
+}
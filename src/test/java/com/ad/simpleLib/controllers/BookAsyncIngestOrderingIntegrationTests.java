@@ -0,0 +1,139 @@
+package com.ad.simpleLib.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.dto.BookDto;
+import com.ad.simpleLib.services.BookService;
+import com.ad.simpleLib.services.impl.WriteBehindBookIngestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// The flusher only ticks at startup here, so queued writes stay queued until the test drains them
+@SpringBootTest(properties = {
+		"simplelib.ingest.async.enabled=true",
+		"simplelib.ingest.async.journal=" + BookAsyncIngestOrderingIntegrationTests.JOURNAL,
+		"simplelib.ingest.async.flush-interval-ms=600000",
+		"simplelib.ingest.async.max-attempts=1"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class BookAsyncIngestOrderingIntegrationTests {
+
+	static final String JOURNAL = "target/ingest/book-ingest-ordering-test.ndjson";
+	static final String DEAD_LETTERS = JOURNAL + ".dead";
+
+	private BookService bookService;
+	private WriteBehindBookIngestService ingestService;
+	private MockMvc mockMvc;
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	public BookAsyncIngestOrderingIntegrationTests(BookService bookService, WriteBehindBookIngestService ingestService,
+			MockMvc mockMvc, ObjectMapper objectMapper) {
+		this.bookService = bookService;
+		this.ingestService = ingestService;
+		this.mockMvc = mockMvc;
+		this.objectMapper = objectMapper;
+	}
+
+	@BeforeEach
+	void clearDeadLetters() throws IOException {
+		Files.deleteIfExists(Path.of(DEAD_LETTERS));
+	}
+
+	@Test
+	public void testThatSyncPutAfterQueuedPutIsNotOverwrittenByTheFlusher() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		putBook(testBookA, "Queued", true).andExpect(MockMvcResultMatchers.status().isAccepted());
+		putBook(testBookA, "Synchronous", false).andExpect(MockMvcResultMatchers.status().isOk());
+
+		ingestService.stop();
+
+		assertThat(bookService.findOne(testBookA.getIsbn())).get()
+				.extracting(book -> book.getTitle()).isEqualTo("Synchronous");
+		assertThat(Files.readAllLines(Path.of(JOURNAL))).isEmpty();
+	}
+
+	@Test
+	public void testThatDeleteAfterQueuedPutIsNotUndoneByTheFlusher() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		putBook(testBookA, "Queued", true).andExpect(MockMvcResultMatchers.status().isAccepted());
+		mockMvc.perform(MockMvcRequestBuilders.delete("/books/" + testBookA.getIsbn()))
+				.andExpect(MockMvcResultMatchers.status().isNoContent());
+
+		ingestService.stop();
+
+		assertThat(bookService.findOne(testBookA.getIsbn())).isEmpty();
+	}
+
+	@Test
+	public void testThatBatchDeleteAfterQueuedPutIsNotUndoneByTheFlusher() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		putBook(testBookA, "Queued", true).andExpect(MockMvcResultMatchers.status().isAccepted());
+		mockMvc.perform(MockMvcRequestBuilders.post("/books/batch-delete")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(List.of(testBookA.getIsbn())))
+			).andExpect(MockMvcResultMatchers.status().isOk());
+
+		ingestService.stop();
+
+		assertThat(bookService.findOne(testBookA.getIsbn())).isEmpty();
+	}
+
+	@Test
+	public void testThatAFailingQueuedWriteIsDeadLetteredWithoutHoldingBackItsBatch() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		BookDto testBookB = TestDataUtil.createTestBookDtoA(null);
+		testBookB.setIsbn("978-1-2345-6789-1");
+		putBook(testBookA, "x".repeat(300), true).andExpect(MockMvcResultMatchers.status().isAccepted());
+		putBook(testBookB, "Fine", true).andExpect(MockMvcResultMatchers.status().isAccepted());
+
+		ingestService.stop();
+
+		assertThat(bookService.findOne(testBookA.getIsbn())).isEmpty();
+		assertThat(bookService.findOne(testBookB.getIsbn())).get()
+				.extracting(book -> book.getTitle()).isEqualTo("Fine");
+		assertThat(Files.readAllLines(Path.of(JOURNAL))).isEmpty();
+		assertThat(Files.readAllLines(Path.of(DEAD_LETTERS)))
+				.singleElement().asString().contains(testBookA.getIsbn());
+	}
+
+	@Test
+	public void testThatAQueuedWriteFailingBeforeASyncPutIsDeadLetteredAndTheSyncPutStillLands() throws Exception {
+		BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+		putBook(testBookA, "x".repeat(300), true).andExpect(MockMvcResultMatchers.status().isAccepted());
+		putBook(testBookA, "Synchronous", false).andExpect(MockMvcResultMatchers.status().isCreated());
+
+		assertThat(bookService.findOne(testBookA.getIsbn())).get()
+				.extracting(book -> book.getTitle()).isEqualTo("Synchronous");
+		assertThat(Files.readAllLines(Path.of(JOURNAL))).isEmpty();
+		assertThat(Files.readAllLines(Path.of(DEAD_LETTERS)))
+				.singleElement().asString().contains(testBookA.getIsbn());
+	}
+
+	private ResultActions putBook(BookDto bookDto, String title, boolean async) throws Exception {
+		bookDto.setTitle(title);
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bookDto));
+		return mockMvc.perform(async ? request.header("Prefer", "respond-async") : request);
+	}
+}
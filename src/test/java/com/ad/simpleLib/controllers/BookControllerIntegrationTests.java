@@ -1,36 +1,59 @@
 package com.ad.simpleLib.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.dto.AuthorDto;
 import com.ad.simpleLib.domain.dto.BookDto;
 import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookChangedEvent;
 import com.ad.simpleLib.services.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureMockMvc
+@RecordApplicationEvents
 public class BookControllerIntegrationTests {
 
 	private BookService bookService;
 	private MockMvc mockMvc;
 	private ObjectMapper objectMapper;
+	private Statistics statistics;
 
 	@Autowired
-	public BookControllerIntegrationTests(BookService bookService, MockMvc mockMvc, ObjectMapper objectMapper) {
+	public BookControllerIntegrationTests(BookService bookService, MockMvc mockMvc, ObjectMapper objectMapper,
+			EntityManagerFactory entityManagerFactory) {
 		super();
 		this.bookService = bookService;
 		this.mockMvc = mockMvc;
 		this.objectMapper = objectMapper;
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
 	}
 	
 	@Test
@@ -59,6 +82,45 @@ public class BookControllerIntegrationTests {
 				);
 	}
 	
+	@Test
+	public void testThatBatchCreateUpdateBooksReportsPerItemStatus() throws Exception {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+		bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+		BookDto updatedBookA = TestDataUtil.createTestBookDtoA(null);
+		updatedBookA.setTitle("UPDATED");
+		BookDto newBookB = BookDto.builder().isbn("978-1-2345-6789-1").title("Beyond the Horizon").build();
+		String batchJson = objectMapper.writeValueAsString(List.of(updatedBookA, newBookB));
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/books/batch")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(batchJson)
+				).andExpect(
+						MockMvcResultMatchers.status().isOk()
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].id").value(updatedBookA.getIsbn())
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].status").value("UPDATED")
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[1].id").value(newBookB.getIsbn())
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[1].status").value("CREATED")
+				);
+	}
+	
+	@Test
+	public void testThatBatchCreateBooksAcceptsNdjson() throws Exception {
+		BookDto bookDto = TestDataUtil.createTestBookDtoA(null);
+		String ndjson = objectMapper.writeValueAsString(bookDto) + "\n";
+
+		mockMvc.perform(MockMvcRequestBuilders.post("/books/batch")
+					.contentType(MediaType.APPLICATION_NDJSON)
+					.content(ndjson)
+				).andExpect(
+						MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED")
+				);
+	}
+	
 	@Test
     public void testThatListBooksReturnsHttpStatus200Ok() throws Exception {
         mockMvc.perform(
@@ -84,6 +146,125 @@ public class BookControllerIntegrationTests {
         );
     }
     
+    @Test
+    public void testThatListBooksWithoutCountReturnsSlice() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?count=false")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value("978-1-2345-6789-0")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatListBookSummariesReturnsAuthorNameWithoutNesting() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/summaries?sort=isbn")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value("978-1-2345-6789-0")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].authorName").value("Agatha Christie")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].title").value("Beyond the Horizon")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].authorId").isEmpty()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        );
+    }
+    
+    @Test
+    public void testThatListBooksNegotiatesCbor() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        byte[] body = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books")
+                        .accept(MediaType.APPLICATION_CBOR)
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR)
+        ).andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        Assertions.assertThat(page.at("/content/0/isbn").asText()).isEqualTo("978-1-2345-6789-0");
+    }
+
+    @Test
+    public void testThatKeysetListBooksFollowsCursorToLastPage() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+        BookEntity testBookEntityC = TestDataUtil.createTestBookC(null);
+        bookService.createUpdateBook(testBookEntityC.getIsbn(), testBookEntityC);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/keyset?size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(2))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").isString()
+        ).andReturn();
+        String next = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/keyset?size=2&cursor=" + next)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(1))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityC.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").doesNotExist()
+        );
+    }
+    
+    @Test
+    public void testThatSearchBooksRanksTitlesMatchingEveryTerm() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityC = TestDataUtil.createTestBookC(null);
+        bookService.createUpdateBook(testBookEntityC.getIsbn(), testBookEntityC);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=the attic")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(1))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityA.getIsbn())
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksForgetsDeletedBooks() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.delete(testBookEntityA.getIsbn());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=shadow")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(0))
+        );
+    }
+    
     @Test
     public void testThatGetBookReturnsHttpStatus200OkWhenBookExists() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
@@ -108,6 +289,306 @@ public class BookControllerIntegrationTests {
         );
     }
     
+    @Test
+    public void testThatListBooksWritesOnlyRequestedFields() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=title&sort=isbn")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value(testBookEntityA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=isbn,author.name&sort=isbn")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.name").value(testBookEntityA.getAuthorEntity().getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.age").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].author").value(Matchers.nullValue())
+        );
+    }
+    
+    @Test
+    public void testThatListBooksWithFieldsAndWithoutCountReturnsSliceOfRequestedFields() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=title&count=false&sort=isbn&size=1")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content", Matchers.hasSize(1))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value(testBookEntityA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.last").value(false)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist()
+        );
+    }
+    
+    @Test
+    public void testThatListBooksWithFieldsSortsByAuthorField() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityC = TestDataUtil.createTestBookC(TestDataUtil.createTestAuthorB());
+        bookService.createUpdateBook(testBookEntityC.getIsbn(), testBookEntityC);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=isbn&sort=author.name,desc")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityC.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].isbn").value(testBookEntityA.getIsbn())
+        );
+    }
+    
+    @Test
+    public void testThatListBooksWithFieldsReturnsHttpStatus400ForUnknownSortProperty() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=title&sort=publisher")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?fields=title&count=false&sort=authorEntity.name")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+    
+    @Test
+    public void testThatGetBookWritesOnlyRequestedFields() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn() + "?fields=title")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value(testBookEntityA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.isbn").doesNotExist()
+        );
+    }
+    
+    @Test
+    public void testThatGetBookWithFieldsReturnsHttpStatus400ForUnknownField() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn() + "?fields=title,publisher")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+    
+    @Test
+    public void testThatListBooksByAuthorPagesThroughTheirBooksInIsbnOrder() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        BookEntity savedBookEntityA = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        Long authorId = savedBookEntityA.getAuthorEntity().getId();
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(savedBookEntityA.getAuthorEntity());
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+        BookEntity testBookEntityC = TestDataUtil.createTestBookC(TestDataUtil.createTestAuthorB());
+        bookService.createUpdateBook(testBookEntityC.getIsbn(), testBookEntityC);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorId + "/books?size=1")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").exists()
+        ).andReturn();
+        String next = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorId + "/books?size=1&cursor=" + next)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityB.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.next").value(Matchers.nullValue())
+        );
+    }
+    
+    @Test
+    public void testThatListBooksByAuthorsGroupsBooksPerRequestedAuthor() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        Long authorIdA = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA).getAuthorEntity().getId();
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(TestDataUtil.createTestAuthorB());
+        Long authorIdB = bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB).getAuthorEntity().getId();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/books?ids=" + authorIdB + "," + authorIdA + ",999")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$['" + authorIdA + "'][0].isbn").value(testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$['" + authorIdB + "'][0].isbn").value(testBookEntityB.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$['999']").isEmpty()
+        );
+    }
+    
+    @Test
+    public void testThatLookupBooksReturnsResultsInRequestOrderWithMisses() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testBookEntityB.getIsbn(), "missing", testBookEntityA.getIsbn())))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].book.title").value(testBookEntityB.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].isbn").value("missing")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].found").value(false)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].book.author.name").value(testBookEntityA.getAuthorEntity().getName())
+        );
+    }
+    
+    @Test
+    public void testThatWarmLookupBooksIsAnsweredFromTheSecondLevelCache() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+        String isbns = objectMapper.writeValueAsString(List.of(testBookEntityA.getIsbn(), testBookEntityB.getIsbn()));
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/lookup").contentType(MediaType.APPLICATION_JSON).content(isbns)
+        ).andExpect(MockMvcResultMatchers.status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/lookup").contentType(MediaType.APPLICATION_JSON).content(isbns)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].book.author.name").value(testBookEntityA.getAuthorEntity().getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].book.title").value(testBookEntityB.getTitle())
+        );
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    @Test
+    public void testThatGetBookReturnsHttpStatus304WhenETagMatches() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        String eTag = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().exists(HttpHeaders.ETAG)
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotModified()
+        ).andExpect(
+                MockMvcResultMatchers.content().string("")
+        );
+    }
+    
+    @Test
+    public void testThatUpdateBookReturnsHttpStatus412WhenAuthorChangedSinceIfMatch() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        Long authorId = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA).getAuthorEntity().getId();
+        String staleETag = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn())
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        AuthorDto authorDto = TestDataUtil.createTestAuthorDtoA();
+        authorDto.setName("Mary Westmacott");
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/authors/" + authorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authorDto))
+        ).andExpect(MockMvcResultMatchers.status().isOk());
+
+        authorDto.setId(authorId);
+        authorDto.setName("Agatha Christie");
+        String bookJson = objectMapper.writeValueAsString(TestDataUtil.createTestBookDtoA(authorDto));
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookEntityA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+                        .header(HttpHeaders.IF_MATCH, staleETag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+
+        String currentETag = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn())
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookEntityA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+                        .header(HttpHeaders.IF_MATCH, staleETag + ", " + currentETag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+    }
+    
+    @Test
+    public void testThatPartialUpdateBookReturnsHttpStatus412WhenIfMatchIsStale() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+        BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+        testBookA.setTitle("UPDATED");
+        String bookJson = objectMapper.writeValueAsString(testBookA);
+
+        String eTag = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookEntityA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookEntityA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookEntityA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+    }
+    
     @Test
     public void testThatGetBookReturnsBookWhenBookExist() throws Exception {
     	BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
@@ -201,6 +682,20 @@ public class BookControllerIntegrationTests {
         );
     }
     
+    @Test
+    public void testThatPartialUpdateBookReturnsHttpStatus404WhenBookDoesntExist() throws Exception {
+        BookDto testBookA = TestDataUtil.createTestBookDtoA(null);
+        String bookJson = objectMapper.writeValueAsString(testBookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+    
     @Test
     public void testThatDeleteNonExistingookReturnsHttpStatus204NoContent() throws Exception {
     	mockMvc.perform(
@@ -209,6 +704,21 @@ public class BookControllerIntegrationTests {
     	).andExpect(MockMvcResultMatchers.status().isNoContent());
     }
     
+    @Test
+    public void testThatDeleteAnnouncesOnlyBooksThatExisted(@Autowired ApplicationEvents events) throws Exception {
+    	BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+
+    	mockMvc.perform(MockMvcRequestBuilders.delete("/books/jfokdls"))
+    			.andExpect(MockMvcResultMatchers.status().isNoContent());
+    	mockMvc.perform(MockMvcRequestBuilders.delete("/books/" + testBookEntityA.getIsbn()))
+    			.andExpect(MockMvcResultMatchers.status().isNoContent());
+
+    	assertThat(bookService.findOne(testBookEntityA.getIsbn())).isEmpty();
+    	assertThat(events.stream(BookChangedEvent.class).filter(BookChangedEvent::isRemoved).map(BookChangedEvent::getIsbn))
+    			.containsExactly(testBookEntityA.getIsbn());
+    }
+    
     @Test
     public void testThatDeleteExistingookReturnsHttpStatus204NoContent() throws Exception {
     	BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
@@ -219,4 +729,37 @@ public class BookControllerIntegrationTests {
     			.contentType(MediaType.APPLICATION_JSON)
     	).andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+    
+    @Test
+    public void testThatBatchDeleteBooksReturnsCountAndKeepsTheirAuthor(@Autowired ApplicationEvents events) throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+        BookEntity savedBookEntityA = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        Long authorId = savedBookEntityA.getAuthorEntity().getId();
+        BookEntity testBookEntityB = TestDataUtil.createTestBookB(savedBookEntityA.getAuthorEntity());
+        bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+        BookEntity testBookEntityC = TestDataUtil.createTestBookC(savedBookEntityA.getAuthorEntity());
+        bookService.createUpdateBook(testBookEntityC.getIsbn(), testBookEntityC);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books/batch-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(testBookEntityA.getIsbn(), testBookEntityB.getIsbn(), "missing", null)))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deleted").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.booksDetached").doesNotExist()
+        );
+
+        assertThat(bookService.findOne(testBookEntityA.getIsbn())).isEmpty();
+        assertThat(bookService.findOne(testBookEntityC.getIsbn())).isPresent();
+        assertThat(events.stream(BookChangedEvent.class).filter(BookChangedEvent::isRemoved).map(BookChangedEvent::getIsbn))
+                .containsExactlyInAnyOrder(testBookEntityA.getIsbn(), testBookEntityB.getIsbn());
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + authorId)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+    }
 }
@@ -0,0 +1,48 @@
+package com.ad.simpleLib.controllers;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookService;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointIntegrationTests {
+
+	private BookService bookService;
+	private MockMvc mockMvc;
+
+	@Autowired
+	public MetricsEndpointIntegrationTests(BookService bookService, MockMvc mockMvc) {
+		this.bookService = bookService;
+		this.mockMvc = mockMvc;
+	}
+
+	@Test
+	public void testThatPrometheusEndpointExposesServiceMapperRepositoryAndStatementMetrics() throws Exception {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+		bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+		mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBookEntityA.getIsbn()))
+				.andExpect(MockMvcResultMatchers.status().isOk());
+
+		mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.allOf(
+						Matchers.containsString("simplelib_service_seconds_count{class=\"com.ad.simpleLib.services.impl.BookServiceImpl\""),
+						Matchers.containsString("simplelib_mapper_seconds_count{class=\"com.ad.simpleLib.mappers.impl.BookMapper\""),
+						Matchers.containsString("spring_data_repository_invocations_seconds_count"),
+						Matchers.containsString("simplelib_hibernate_statements_count{method=\"GET\",uri=\"/books/{isbn}\""))));
+	}
+}
@@ -0,0 +1,94 @@
+package com.ad.simpleLib.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.BookService;
+import com.jayway.jsonpath.JsonPath;
+
+// R2DBC opens the same in-memory database the JPA side writes to
+@SpringBootTest(properties = {
+		"spring.r2dbc.url=r2dbc:h2:mem:///testdb?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.r2dbc.username=sa",
+		"spring.r2dbc.password=password"
+})
+@ActiveProfiles("reactive")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReactiveEndpointsIntegrationTests {
+
+	private BookService bookService;
+	private MockMvc mockMvc;
+
+	@Autowired
+	public ReactiveEndpointsIntegrationTests(BookService bookService, MockMvc mockMvc) {
+		this.bookService = bookService;
+		this.mockMvc = mockMvc;
+	}
+
+	@Test
+	public void testThatReactiveBooksStreamAsNdjsonWithTheirAuthor() throws Exception {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+		bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+		BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+		bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+		MvcResult result = mockMvc.perform(
+				MockMvcRequestBuilders.get("/reactive/books")
+					.accept(MediaType.APPLICATION_NDJSON)
+				).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"name\":\"Agatha Christie\"")))
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"title\":\"Beyond the Horizon\"")));
+	}
+
+	@Test
+	public void testThatReactiveKeysetPagesThroughBooksWithTheSameCursorsAsTheServletEndpoint() throws Exception {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+		bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+		BookEntity testBookEntityB = TestDataUtil.createTestBookB(null);
+		bookService.createUpdateBook(testBookEntityB.getIsbn(), testBookEntityB);
+
+		MvcResult firstPage = mockMvc.perform(
+				MockMvcRequestBuilders.get("/reactive/books/keyset?size=1")
+				).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		String next = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(firstPage))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityA.getIsbn()))
+				.andReturn().getResponse().getContentAsString(), "$.next");
+		String servletNext = JsonPath.read(mockMvc.perform(MockMvcRequestBuilders.get("/books/keyset?size=1"))
+				.andReturn().getResponse().getContentAsString(), "$.next");
+		assertThat(next).isEqualTo(servletNext);
+
+		MvcResult secondPage = mockMvc.perform(
+				MockMvcRequestBuilders.get("/reactive/books/keyset?size=1&cursor=" + next)
+				).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(secondPage))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityB.getIsbn()))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.next").doesNotExist());
+	}
+
+	@Test
+	public void testThatReactiveGetBookReturnsHttpStatus404WhenBookDoesntExist() throws Exception {
+		MvcResult result = mockMvc.perform(
+				MockMvcRequestBuilders.get("/reactive/books/missing")
+				).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+				.andExpect(MockMvcResultMatchers.status().isNotFound());
+	}
+}
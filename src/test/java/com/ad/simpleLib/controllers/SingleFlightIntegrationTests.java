@@ -0,0 +1,138 @@
+package com.ad.simpleLib.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.ad.simpleLib.TestDataUtil;
+import com.ad.simpleLib.domain.entities.AuthorEntity;
+import com.ad.simpleLib.domain.entities.BookEntity;
+import com.ad.simpleLib.services.AuthorService;
+import com.ad.simpleLib.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The first lookup is held until every other request has joined it, so the collapse does not depend on timing
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class SingleFlightIntegrationTests {
+
+	private static final int REQUESTS = 16;
+
+	@SpyBean
+	private BookService bookService;
+
+	@SpyBean
+	private AuthorService authorService;
+
+	private MockMvc mockMvc;
+	private ObjectMapper objectMapper;
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	public SingleFlightIntegrationTests(MockMvc mockMvc, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.mockMvc = mockMvc;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Test
+	public void testThatConcurrentGetBookRequestsShareOneLoadAndAgreeOnETag() throws Exception {
+		BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA());
+		bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			release.await(10, TimeUnit.SECONDS);
+			return invocation.callRealMethod();
+		}).when(bookService).findOne(any());
+
+		List<MvcResult> results = getConcurrently("/books/" + testBookEntityA.getIsbn(), "books", release);
+
+		String eTag = results.get(0).getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+		for (MvcResult result : results) {
+			assertThat(result.getResponse().getStatus()).isEqualTo(200);
+			assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+			assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).get("title").asText())
+					.isEqualTo(testBookEntityA.getTitle());
+		}
+		verify(bookService, times(1)).findOne(testBookEntityA.getIsbn());
+		assertThat(calls("books", "loaded")).isEqualTo(1);
+		assertThat(calls("books", "collapsed")).isEqualTo(REQUESTS - 1);
+	}
+
+	@Test
+	public void testThatConcurrentGetAuthorRequestsShareOneLoadAndAgreeOnETag() throws Exception {
+		AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			release.await(10, TimeUnit.SECONDS);
+			return invocation.callRealMethod();
+		}).when(authorService).findOne(anyLong());
+
+		List<MvcResult> results = getConcurrently("/authors/" + savedAuthor.getId(), "authors", release);
+
+		String eTag = results.get(0).getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+		for (MvcResult result : results) {
+			assertThat(result.getResponse().getStatus()).isEqualTo(200);
+			assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+			assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).get("name").asText())
+					.isEqualTo(savedAuthor.getName());
+		}
+		verify(authorService, times(1)).findOne(savedAuthor.getId());
+		assertThat(calls("authors", "loaded")).isEqualTo(1);
+		assertThat(calls("authors", "collapsed")).isEqualTo(REQUESTS - 1);
+	}
+
+	// Releases the blocked lookup once every other request is waiting on it
+	private List<MvcResult> getConcurrently(String path, String name, CountDownLatch release) throws Exception {
+		Callable<MvcResult> get = () -> mockMvc.perform(MockMvcRequestBuilders.get(path)).andReturn();
+		ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+		try {
+			List<Future<MvcResult>> futures = Collections.nCopies(REQUESTS, get).stream().map(executor::submit).toList();
+			long deadline = System.currentTimeMillis() + 10000;
+			while (calls(name, "collapsed") < REQUESTS - 1 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			release.countDown();
+			List<MvcResult> results = new ArrayList<>();
+			for (Future<MvcResult> future : futures) {
+				results.add(future.get(10, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private double calls(String name, String outcome) {
+		return meterRegistry.get(SingleFlight.CALLS).tag("name", name).tag("outcome", outcome).counter().count();
+	}
+}
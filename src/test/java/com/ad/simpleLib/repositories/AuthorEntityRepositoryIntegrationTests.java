@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -79,8 +81,10 @@ public class AuthorEntityRepositoryIntegrationTests {
         AuthorEntity testAuthorCEntity = TestDataUtil.createTestAuthorC();
         underTest.save(testAuthorCEntity);
 
-        Iterable<AuthorEntity> result = underTest.ageLessThan(50);
-        assertThat(result).containsExactly(testAuthorBEntity, testAuthorCEntity);
+        Slice<AuthorEntity> result = underTest.ageLessThan(50, PageRequest.of(0, 1));
+        assertThat(result).containsExactly(testAuthorCEntity);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(underTest.ageLessThan(50, result.nextPageable())).containsExactly(testAuthorBEntity);
     }
 
     @Test
@@ -92,8 +96,9 @@ public class AuthorEntityRepositoryIntegrationTests {
         AuthorEntity testAuthorCEntity = TestDataUtil.createTestAuthorC();
         underTest.save(testAuthorCEntity);
 
-        Iterable<AuthorEntity> result = underTest.findAuthorsWithAgeGreaterThan(50);
+        Slice<AuthorEntity> result = underTest.findAuthorsWithAgeGreaterThan(50, PageRequest.of(0, 10));
         assertThat(result).containsExactly(testAuthorAEntity);
+        assertThat(result.hasNext()).isFalse();
     }
 
 
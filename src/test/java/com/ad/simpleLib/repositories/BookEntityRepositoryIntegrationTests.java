@@ -2,12 +2,17 @@ package com.ad.simpleLib.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -15,6 +20,8 @@ import com.ad.simpleLib.TestDataUtil;
 import com.ad.simpleLib.domain.entities.AuthorEntity;
 import com.ad.simpleLib.domain.entities.BookEntity;
 
+import jakarta.persistence.EntityManagerFactory;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -22,9 +29,12 @@ public class BookEntityRepositoryIntegrationTests {
 
     private BookRepository underTest;
 
+    private Statistics statistics;
+
     @Autowired
-    public BookEntityRepositoryIntegrationTests(BookRepository underTest) {
+    public BookEntityRepositoryIntegrationTests(BookRepository underTest, EntityManagerFactory entityManagerFactory) {
         this.underTest = underTest;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     @Test
@@ -83,4 +93,62 @@ public class BookEntityRepositoryIntegrationTests {
         Optional<BookEntity> result = underTest.findById(bookEntityA.getIsbn());
         assertThat(result).isEmpty();
     }
+
+    @Test
+    public void testThatRepeatedLookupIsServedFromSecondLevelCache() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        BookEntity bookEntityA = TestDataUtil.createTestBookEntityA(authorEntity);
+        underTest.save(bookEntityA);
+        statistics.clear();
+
+        underTest.findById(bookEntityA.getIsbn());
+        underTest.findById(bookEntityA.getIsbn());
+
+        assertThat(statistics.getDomainDataRegionStatistics(BookEntity.CACHE_REGION).getHitCount()).isPositive();
+    }
+
+    @Test
+    public void testThatSearchHitsAreLoadedWithTheirAuthorsInOneStatement() {
+        BookEntity bookEntityA = underTest.save(TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA()));
+        BookEntity bookEntityB = underTest.save(TestDataUtil.createTestBookB(TestDataUtil.createTestAuthorB()));
+        statistics.clear();
+
+        List<BookEntity> result = underTest.findByIsbnIn(List.of(bookEntityA.getIsbn(), bookEntityB.getIsbn()));
+
+        assertThat(result)
+                .extracting(book -> book.getAuthorEntity().getName())
+                .containsExactlyInAnyOrder("Agatha Christie", "Konan");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatBooksOfManyAuthorsAreLoadedInOneStatement() {
+        BookEntity bookEntityA = underTest.save(TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA()));
+        BookEntity bookEntityB = underTest.save(TestDataUtil.createTestBookB(TestDataUtil.createTestAuthorB()));
+        underTest.save(TestDataUtil.createTestBookC(TestDataUtil.createTestAuthorC()));
+        statistics.clear();
+
+        List<BookEntity> result = underTest.findByAuthorIdIn(
+                List.of(bookEntityA.getAuthorEntity().getId(), bookEntityB.getAuthorEntity().getId()));
+
+        assertThat(result)
+                .extracting(book -> book.getAuthorEntity().getName())
+                .containsExactlyInAnyOrder("Agatha Christie", "Konan");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatListingPageOfBooksFetchesAuthorsInSameStatement() {
+        underTest.save(TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA()));
+        underTest.save(TestDataUtil.createTestBookB(TestDataUtil.createTestAuthorB()));
+        underTest.save(TestDataUtil.createTestBookC(TestDataUtil.createTestAuthorC()));
+        statistics.clear();
+
+        Page<BookEntity> result = underTest.findAll(PageRequest.of(0, 10));
+
+        assertThat(result.getContent())
+                .extracting(book -> book.getAuthorEntity().getName())
+                .containsExactlyInAnyOrder("Agatha Christie", "Konan", "Konan");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
 }